@@ -0,0 +1,146 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Many concurrent readers against the blocking (/api/...) and the reactive (/api/reactive/...)
+ * catalogue reads, reporting throughput, latency and, sampled from the actuator while the
+ * readers run, the peak number of JDBC read-pool connections, R2DBC connections and JVM threads.
+ *
+ *   java scripts/ReadBenchmark.java <base-url> <pr-admin-token> [readers] [requests-per-reader]
+ *
+ * Run through scripts/reactive-read-benchmark.sh, which starts the app with load shedding off
+ * (otherwise most of a thousand readers would just get 503s) and signs in for the token.
+ */
+public class ReadBenchmark {
+
+    record Target(String name, String path, String accept) {}
+
+    record Result(int requests, int errors, double seconds, long p50Micros, long p99Micros,
+                  int jdbcConnections, int r2dbcConnections, int threads) {}
+
+    private static final Pattern VALUE = Pattern.compile("\"value\":([0-9.Ee+-]+)");
+
+    private static String baseUrl;
+    private static String token;
+    private static HttpClient client;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("usage: java ReadBenchmark.java <base-url> <pr-admin-token> [readers] [requests-per-reader]");
+            System.exit(2);
+        }
+        baseUrl = args[0];
+        token = args[1];
+        int readers = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        int perReader = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        client = HttpClient.newBuilder().executor(executor).connectTimeout(Duration.ofSeconds(10)).build();
+
+        String viewer = "viewer@example.edu";
+        List<Target> targets = List.of(
+                new Target("events          blocking", "/api/events?viewer=" + viewer, "application/json"),
+                new Target("events          reactive", "/api/reactive/events?viewer=" + viewer, "application/json"),
+                new Target("events          ndjson", "/api/reactive/events?viewer=" + viewer, "application/x-ndjson"),
+                new Target("announcements   blocking", "/api/announcements?role=student", "application/json"),
+                new Target("announcements   reactive", "/api/reactive/announcements?role=student", "application/json"),
+                new Target("notifications   blocking", "/api/notifications/" + viewer, "application/json"),
+                new Target("notifications   reactive", "/api/reactive/notifications/" + viewer, "application/json"));
+
+        System.out.printf("%d concurrent readers x %d requests, idle JVM threads: %d%n%n",
+                readers, perReader, (int) metric("jvm.threads.live", null));
+        System.out.printf("%-25s %8s %7s %9s %9s %10s %10s %8s%n",
+                "endpoint", "req/s", "errors", "p50 ms", "p99 ms", "jdbc conn", "r2dbc conn", "threads");
+        for (Target target : targets) {
+            run(target, 50, 2); // Warm-up
+            Result r = run(target, readers, perReader);
+            System.out.printf("%-25s %8.0f %7d %9.1f %9.1f %10d %10d %8d%n", target.name(),
+                    r.requests() / r.seconds(), r.errors(), r.p50Micros() / 1000.0, r.p99Micros() / 1000.0,
+                    r.jdbcConnections(), r.r2dbcConnections(), r.threads());
+        }
+        executor.shutdownNow();
+    }
+
+    private static Result run(Target target, int readers, int perReader) throws Exception {
+        int total = readers * perReader;
+        AtomicLongArray latencies = new AtomicLongArray(total);
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + target.path()))
+                .header("Accept", target.accept()).timeout(Duration.ofSeconds(60)).GET().build();
+
+        int[] peaks = new int[3];
+        Thread sampler = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    peaks[0] = Math.max(peaks[0], (int) metric("hikaricp.connections.active", "pool:read-pool"));
+                    peaks[1] = Math.max(peaks[1], (int) metric("r2dbc.pool.acquired", "name:reactiveReadPool"));
+                    peaks[2] = Math.max(peaks[2], (int) metric("jvm.threads.live", null));
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    return;
+                } catch (Exception e) {
+                    // A missed sample only makes the peak less exact
+                }
+            }
+        });
+        sampler.start();
+
+        long start = System.nanoTime();
+        List<CompletableFuture<Void>> readersDone = new ArrayList<>(readers);
+        for (int i = 0; i < readers; i++) {
+            readersDone.add(read(request, perReader, latencies, next, errors));
+        }
+        CompletableFuture.allOf(readersDone.toArray(CompletableFuture[]::new)).join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        sampler.interrupt();
+        sampler.join();
+
+        long[] sorted = new long[total];
+        for (int i = 0; i < total; i++) {
+            sorted[i] = latencies.get(i);
+        }
+        Arrays.sort(sorted);
+        return new Result(total, errors.get(), seconds, sorted[total / 2] / 1000, sorted[(int) (total * 0.99)] / 1000,
+                peaks[0], peaks[1], peaks[2]);
+    }
+
+    // One reader: its requests one after the other, like a dashboard polling
+    private static CompletableFuture<Void> read(HttpRequest request, int remaining, AtomicLongArray latencies,
+                                                AtomicInteger next, AtomicInteger errors) {
+        if (remaining == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long sent = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, failure) -> {
+                    latencies.set(next.getAndIncrement(), System.nanoTime() - sent);
+                    if (failure != null || response.statusCode() != 200) {
+                        errors.incrementAndGet();
+                    }
+                    return null;
+                })
+                .thenCompose(ignored -> read(request, remaining - 1, latencies, next, errors));
+    }
+
+    private static double metric(String name, String tag) throws Exception {
+        String url = baseUrl + "/actuator/metrics/" + name + (tag == null ? "" : "?tag=" + tag);
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(url))
+                .header("Authorization", "Bearer " + token).GET().build(), HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = VALUE.matcher(response.body());
+        return response.statusCode() == 200 && matcher.find() ? Double.parseDouble(matcher.group(1)) : 0;
+    }
+}
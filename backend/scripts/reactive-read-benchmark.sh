@@ -0,0 +1,41 @@
+#!/usr/bin/env bash
+# Compares the blocking catalogue reads (/api/events, /api/announcements, /api/notifications/...)
+# with their reactive versions under /api/reactive: throughput, latency, and the peak number of
+# database connections and JVM threads while a thousand readers hit them at once.
+#
+#   scripts/reactive-read-benchmark.sh [readers] [requests-per-reader]
+#
+# Needs the database from application.properties (or SPRING_DATASOURCE_* env vars). Creates
+# a PR admin (bench-admin@example.edu) to read the actuator metrics with.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+READERS="${1:-1000}"
+PER_READER="${2:-5}"
+PORT="${PORT:-8080}"
+BASE="http://localhost:$PORT"
+WORK=target/reactive-read-benchmark
+JAR=target/backend-0.0.1-SNAPSHOT.jar
+
+mkdir -p "$WORK"
+./mvnw -q -DskipTests package
+
+# Load shedding would turn most of the readers away with 503s, and the rate limiter the sign-in
+java -jar "$JAR" --server.port="$PORT" --app.load-shedding.enabled=false \
+    --app.rate-limit.auth.capacity=1000 > "$WORK/app.log" 2>&1 &
+APP=$!
+trap 'kill $APP 2> /dev/null || true' EXIT
+until curl -sf "$BASE/actuator/health" > /dev/null; do
+    if ! kill -0 "$APP" 2> /dev/null; then
+        echo "application exited, see $WORK/app.log" >&2
+        exit 1
+    fi
+    sleep 0.2
+done
+
+curl -s -o /dev/null -X POST "$BASE/api/admin/pr-admins" -H 'Content-Type: application/json' \
+    -d '{"name":"Benchmark","email":"bench-admin@example.edu","password":"benchmark"}'
+TOKEN=$(curl -s -X POST "$BASE/api/login/pr-admin" -H 'Content-Type: application/json' \
+    -d '{"email":"bench-admin@example.edu","password":"benchmark"}' | sed -n 's/.*"token":"\([^"]*\)".*/\1/p')
+
+java scripts/ReadBenchmark.java "$BASE" "$TOKEN" "$READERS" "$PER_READER"
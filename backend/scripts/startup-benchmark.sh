@@ -0,0 +1,77 @@
+#!/usr/bin/env bash
+# Measures cold start of the backend: the "Started ... in X seconds" figure and the
+# wall-clock time until the first request is served (GET /actuator/health returns 200).
+#
+#   scripts/startup-benchmark.sh [runs]
+#
+# Compares three setups:
+#   baseline   - plain jar
+#   fast-start - jar built with -Pfast-start (Spring AOT) + lazy initialization profile
+#   fast+cds   - fast-start plus a class-data-sharing archive created by a training run
+#
+# Needs the database from application.properties (or SPRING_DATASOURCE_* env vars) to be reachable,
+# because the training run and every measured run start the full application.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS="${1:-5}"
+PORT="${PORT:-8080}"
+WORK=target/startup-benchmark
+JAR_NAME=backend-0.0.1-SNAPSHOT.jar
+
+build() {
+    local out="$1"; shift
+    ./mvnw -q -DskipTests "$@" package
+    rm -rf "$out"
+    # Extracted layout (jar + lib/) is what class-data-sharing needs
+    java -Djarmode=tools -jar "target/$JAR_NAME" extract --destination "$out" > /dev/null
+}
+
+# Runs the app once, prints "<started-in seconds> <ms to first served request>"
+measure() {
+    local log="$WORK/run.log"
+    local start end
+    start=$(date +%s%N)
+    java "$@" -Dserver.port="$PORT" -jar "$JAR" > "$log" 2>&1 &
+    local pid=$!
+    until curl -sf "http://localhost:$PORT/actuator/health" > /dev/null; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "application exited, see $log" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    end=$(date +%s%N)
+    kill "$pid"; wait "$pid" 2> /dev/null || true
+    local started
+    started=$(grep -o 'Started BackendApplication in [0-9.]* seconds' "$log" | grep -o '[0-9.]*' | head -1)
+    echo "$started $(( (end - start) / 1000000 ))"
+}
+
+report() {
+    local name="$1"; shift
+    local total_started=0 total_first=0
+    for _ in $(seq "$RUNS"); do
+        read -r started first < <(measure "$@")
+        total_started=$(echo "$total_started + $started" | bc)
+        total_first=$((total_first + first))
+    done
+    printf '%-12s started in %6.2fs   first request after %6d ms   (mean of %d runs)\n' \
+        "$name" "$(echo "scale=2; $total_started / $RUNS" | bc)" $((total_first / RUNS)) "$RUNS"
+}
+
+mkdir -p "$WORK"
+
+build "$WORK/baseline"
+JAR="$WORK/baseline/$JAR_NAME"
+report baseline
+
+build "$WORK/fast" -Pfast-start
+JAR="$WORK/fast/$JAR_NAME"
+FAST_ARGS=(-Dspring.aot.enabled=true -Dspring.profiles.active=fast-start)
+report fast-start "${FAST_ARGS[@]}"
+
+# Training run: start the context, exit once it's refreshed and dump the loaded classes
+java "${FAST_ARGS[@]}" -XX:ArchiveClassesAtExit="$WORK/fast/application.jsa" \
+    -Dspring.context.exit=onRefresh -jar "$JAR" > "$WORK/training.log" 2>&1
+report fast+cds "${FAST_ARGS[@]}" -XX:SharedArchiveFile="$WORK/fast/application.jsa"
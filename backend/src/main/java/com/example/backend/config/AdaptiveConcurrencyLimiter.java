@@ -0,0 +1,89 @@
+package com.example.backend.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps how many requests may be in progress at once, adapting the cap to observed latency (AIMD).
+ * While requests finish under the target latency the limit grows by about one per round trip;
+ * when one is slow or fails, the limit is cut by a fixed ratio. Requests over the limit are
+ * turned away straight away instead of queuing for a database connection.
+ *
+ * Like TCP, the limit is cut at most once per round trip: the requests in flight at a cut started
+ * under the old limit, so their slowness is the same congestion again, not a reason to cut twice. The first completions after startup never cut the limit, since a cold JVM
+ * and empty pools make them slow however idle the server is.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final double backoffRatio;
+    private final int warmupCompletions;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    // Guarded by this
+    private long completions;
+    private long nextBackoffAt;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long targetLatencyNanos,
+                                      double backoffRatio, int warmupCompletions) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.backoffRatio = backoffRatio;
+        this.warmupCompletions = warmupCompletions;
+        this.nextBackoffAt = warmupCompletions;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Must be called once for every successful tryAcquire.
+     */
+    public void release(long latencyNanos, boolean failed) {
+        inFlight.decrementAndGet();
+        completed(failed || latencyNanos > targetLatencyNanos, true);
+    }
+
+    /**
+     * Like release, for requests whose latency says nothing about load, e.g. a bulk import that
+     * is slow even on an idle server. Only a failure moves the limit.
+     */
+    public void releaseIgnoringLatency(boolean failed) {
+        inFlight.decrementAndGet();
+        completed(failed, false);
+    }
+
+    private synchronized void completed(boolean overloaded, boolean mayGrow) {
+        completions++;
+        if (overloaded) {
+            if (completions > nextBackoffAt) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+                nextBackoffAt = completions + inFlight.get();
+            }
+        } else if (mayGrow) {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Two connection pools behind one DataSource:
+ * - the primary pool (spring.datasource.*) for writes and everything else,
+ * - a read pool (app.datasource.read.*) used by @Transactional(readOnly = true) work,
+ *   which includes the find methods of every Spring Data repository.
+ *
+ * The read pool can point at a replica (READ_DATASOURCE_URL); by default it points at the
+ * primary database, so dashboard reads still get their own pool and can't starve registrations.
+ * Reads that must see the latest write can opt back to the primary with PrimaryReads.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    // Boot only binds spring.datasource.* itself while there is no R2DBC ConnectionFactory, and ReactiveReadConfig adds one
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties dataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryPool(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.read.hikari")
+    public HikariDataSource readPool(@Value("${app.datasource.read.url}") String url,
+                                     @Value("${app.datasource.read.username}") String username,
+                                     @Value("${app.datasource.read.password}") String password) {
+        return DataSourceBuilder.create().type(HikariDataSource.class)
+                .url(url).username(username).password(password).build();
+    }
+
+    /**
+     * The DataSource JPA and JdbcTemplate use. Connections are only fetched when the first
+     * statement runs, by which time the transaction has marked them read-only (or not),
+     * so the proxy knows which pool to take the real connection from.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryPool") DataSource primaryPool,
+                                 @Qualifier("readPool") DataSource readPool) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primaryPool);
+        proxy.setReadOnlyDataSource(readPool);
+        return proxy;
+    }
+}
@@ -0,0 +1,372 @@
+package com.example.backend.config;
+
+import com.example.backend.config.IdempotencyStore.Claim;
+import com.example.backend.config.IdempotencyStore.StoredResponse;
+import com.example.backend.model.IdempotencyRecord;
+import com.example.backend.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Makes retries of POST/PUT/PATCH/DELETE requests safe. A client that sends an
+ * Idempotency-Key header (e.g. a UUID per attempted registration) and retries with the same
+ * key gets the first response back, marked with "Idempotent-Replayed: true", and the request
+ * is not run again. A duplicate that arrives while the first is still running waits for it.
+ *
+ * Keys belong to the signed-in user and are kept for app.idempotency.ttl. Reusing a key for a
+ * different method, path or body is a 422. Without a session token, a key only counts for the
+ * same client address and the very same request, so anonymous callers can't see each other's
+ * responses by guessing or sharing keys.
+ * Responses with a 5xx status are not kept, so retrying those runs the request again.
+ * A new key that arrives while every kept key belongs to a request still running gets a 503.
+ *
+ * With app.idempotency.persistent=true, responses are also written to idempotency_records,
+ * so a retry that lands on another instance or arrives after a restart is still answered
+ * from the first response. Duplicates running at the same moment on different instances
+ * are not held back, though.
+ *
+ * Runs after the security filters, so a request that is turned away never claims its key.
+ * Its own rejections get CORS headers from the CORS filter that runs first (see WebConfig).
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 10)
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+    public static final String HEADER = "Idempotency-Key";
+    static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+    // Bodies are read up front to fingerprint them; bulk uploads have no business sending a key
+    private static final int MAX_BODY_BYTES = 1024 * 1024;
+
+    private final IdempotencyStore store;
+    private final IdempotencyRecordRepository recordRepository;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+    private final boolean persistent;
+
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter mismatched;
+    private final Counter full;
+
+    public IdempotencyFilter(IdempotencyRecordRepository recordRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.idempotency.ttl:PT24H}") Duration ttl,
+                             @Value("${app.idempotency.max-entries:10000}") int maxEntries,
+                             @Value("${app.idempotency.wait-timeout:PT30S}") Duration waitTimeout,
+                             @Value("${app.idempotency.persistent:false}") boolean persistent) {
+        this.store = new IdempotencyStore(ttl.toNanos(), maxEntries);
+        this.recordRepository = recordRepository;
+        this.ttl = ttl;
+        this.waitTimeout = waitTimeout;
+        this.persistent = persistent;
+
+        this.executed = requestCounter(meterRegistry, "executed");
+        this.replayed = requestCounter(meterRegistry, "replayed");
+        this.mismatched = requestCounter(meterRegistry, "mismatched");
+        this.full = requestCounter(meterRegistry, "full");
+        Gauge.builder("http.idempotency.keys", store, IdempotencyStore::size)
+                .description("Idempotency keys held in memory").register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        return request.getHeader(HEADER) == null || !request.getRequestURI().startsWith("/api/")
+                || !(method.equals("POST") || method.equals("PUT") || method.equals("PATCH") || method.equals("DELETE"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(HEADER).trim();
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            reject(response, HttpStatus.BAD_REQUEST, "Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters.");
+            return;
+        }
+        byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        if (body.length > MAX_BODY_BYTES) {
+            reject(response, HttpStatus.PAYLOAD_TOO_LARGE, "Requests with an Idempotency-Key must be under 1 MB.");
+            return;
+        }
+
+        String fingerprint = fingerprint(request, body);
+        String key = scope(request, fingerprint) + ":" + idempotencyKey;
+
+        while (true) {
+            Optional<Claim> claimed = store.claim(key, fingerprint);
+            if (claimed.isEmpty()) {
+                full.increment();
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                reject(response, HttpStatus.SERVICE_UNAVAILABLE, "Too many requests are in progress. Please try again in a moment.");
+                return;
+            }
+            Claim claim = claimed.get();
+            if (!claim.entry().getFingerprint().equals(fingerprint)) {
+                mismatched.increment();
+                reject(response, HttpStatus.UNPROCESSABLE_ENTITY, "This Idempotency-Key was already used for a different request.");
+                return;
+            }
+            if (claim.owner()) {
+                run(key, claim.entry(), fingerprint, new CachedBodyRequest(request, body), response, chain);
+                return;
+            }
+
+            StoredResponse stored;
+            try {
+                stored = claim.entry().getResponse().get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                reject(response, HttpStatus.CONFLICT, "A request with this Idempotency-Key is still in progress.");
+                return;
+            } catch (ExecutionException e) {
+                stored = null; // Not expected: entries are only ever completed normally
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException("Interrupted while waiting for the original request", e);
+            }
+            if (stored != null) {
+                replayed.increment();
+                replay(response, stored);
+                return;
+            }
+            // The first attempt failed; try to claim the key and run it ourselves
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.sweep-interval:PT5M}")
+    public void evictExpired() {
+        store.evictExpired();
+        if (persistent) {
+            recordRepository.deleteExpired(LocalDateTime.now());
+        }
+    }
+
+    // --- Internal helpers ---
+
+    private void run(String key, IdempotencyStore.Entry entry, String fingerprint, HttpServletRequest request,
+                     HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        if (persistent) {
+            IdempotencyRecord record = findRecord(key);
+            if (record != null) {
+                if (!record.getFingerprint().equals(fingerprint)) {
+                    store.abandon(key, entry);
+                    mismatched.increment();
+                    reject(response, HttpStatus.UNPROCESSABLE_ENTITY, "This Idempotency-Key was already used for a different request.");
+                    return;
+                }
+                StoredResponse stored = new StoredResponse(record.getStatus(), record.getContentType(), record.getBody());
+                store.complete(entry, stored);
+                replayed.increment();
+                replay(response, stored);
+                return;
+            }
+        }
+
+        executed.increment();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        StoredResponse stored = null;
+        try {
+            chain.doFilter(request, wrapper);
+            if (wrapper.getStatus() < 500) {
+                stored = new StoredResponse(wrapper.getStatus(), wrapper.getContentType(), wrapper.getContentAsByteArray());
+            }
+        } finally {
+            if (stored != null) {
+                store.complete(entry, stored);
+            } else {
+                store.abandon(key, entry);
+            }
+            wrapper.copyBodyToResponse();
+        }
+        if (persistent) {
+            saveRecord(key, fingerprint, stored);
+        }
+    }
+
+    private IdempotencyRecord findRecord(String key) {
+        try {
+            return recordRepository.findById(key)
+                    .filter(record -> record.getExpiresAt().isAfter(LocalDateTime.now()))
+                    .orElse(null);
+        } catch (RuntimeException e) {
+            log.warn("Could not look up idempotency record; running the request", e);
+            return null;
+        }
+    }
+
+    private void saveRecord(String key, String fingerprint, StoredResponse stored) {
+        if (stored == null) {
+            return;
+        }
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setKey(key);
+        record.setFingerprint(fingerprint);
+        record.setStatus(stored.status());
+        record.setContentType(stored.contentType());
+        record.setBody(stored.body());
+        record.setCreatedAt(LocalDateTime.now());
+        record.setExpiresAt(record.getCreatedAt().plus(ttl));
+        try {
+            recordRepository.save(record);
+        } catch (RuntimeException e) {
+            // The request itself succeeded; only retries on other instances lose out
+            log.warn("Could not save idempotency record", e);
+        }
+    }
+
+    // The signed-in user, or for anonymous callers their address plus the request itself
+    private static String scope(HttpServletRequest request, String fingerprint) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken || !authentication.isAuthenticated()) {
+            return "anonymous:" + request.getRemoteAddr() + ":" + fingerprint;
+        }
+        return authentication.getName();
+    }
+
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ' ');
+            digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            if (request.getQueryString() != null) {
+                digest.update((byte) '?');
+                digest.update(request.getQueryString().getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) '\n');
+            return HexFormat.of().formatHex(digest.digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void replay(HttpServletResponse response, StoredResponse stored) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"" + message + "\"}");
+    }
+
+    private static Counter requestCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("http.idempotency.requests")
+                .description("Requests with an Idempotency-Key: run, answered from a stored response, rejected for reusing a key, "
+                        + "or turned away because every stored key belonged to a request still running (full)")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    // The body has already been read for the fingerprint, so hand the controller a copy
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public int available() {
+                    return in.available();
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.backend.config;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Responses to requests sent with an Idempotency-Key, kept in memory for a limited time and
+ * up to a maximum number of keys (the oldest go first). Keys of requests that are still
+ * running are never evicted to make room; if all of them are, new keys are refused.
+ *
+ * A key is claimed before its request runs, so a duplicate that arrives while the first is
+ * still running finds the entry and waits on it instead of running the request again.
+ */
+public class IdempotencyStore {
+
+    public record StoredResponse(int status, String contentType, byte[] body) {}
+
+    public static final class Entry {
+        private final String fingerprint;
+        // Completes with the response, or with null if the request failed and may be run again
+        private final CompletableFuture<StoredResponse> response = new CompletableFuture<>();
+        private volatile long expiresAt;
+
+        private Entry(String fingerprint, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        public CompletableFuture<StoredResponse> getResponse() {
+            return response;
+        }
+    }
+
+    /**
+     * @param owner True if the caller claimed the key and must run the request, then call complete or abandon.
+     */
+    public record Claim(Entry entry, boolean owner) {}
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    // Insertion order, so the eldest entry is the first one to evict; guarded by synchronized (entries)
+    private final LinkedHashMap<String, Entry> entries;
+
+    public IdempotencyStore(long ttlNanos, int maxEntries) {
+        this.ttlNanos = ttlNanos;
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>();
+    }
+
+    /**
+     * @return Empty if the key is new but the store is full of requests that are still running.
+     */
+    public Optional<Claim> claim(String key, String fingerprint) {
+        long now = System.nanoTime();
+        synchronized (entries) {
+            Entry existing = entries.get(key);
+            if (existing != null && existing.expiresAt - now > 0) {
+                return Optional.of(new Claim(existing, false));
+            }
+            entries.remove(key); // Re-inserted at the end, as the newest
+            if (!makeRoom()) {
+                return Optional.empty();
+            }
+            Entry entry = new Entry(fingerprint, now + ttlNanos);
+            entries.put(key, entry);
+            return Optional.of(new Claim(entry, true));
+        }
+    }
+
+    // Evicts the oldest finished entries until there is room for one more; caller holds the lock
+    private boolean makeRoom() {
+        for (Iterator<Entry> it = entries.values().iterator(); it.hasNext() && entries.size() >= maxEntries; ) {
+            // Evicting a running request would let its duplicate run it a second time
+            if (it.next().response.isDone()) {
+                it.remove();
+            }
+        }
+        return entries.size() < maxEntries;
+    }
+
+    /**
+     * Keeps the response for the TTL, counted from now, and hands it to everyone waiting.
+     */
+    public void complete(Entry entry, StoredResponse response) {
+        entry.expiresAt = System.nanoTime() + ttlNanos;
+        entry.response.complete(response);
+    }
+
+    /**
+     * Forgets a request that failed, so a retry runs it again. Waiting duplicates get null
+     * and try to claim the key themselves.
+     */
+    public void abandon(String key, Entry entry) {
+        synchronized (entries) {
+            entries.remove(key, entry);
+        }
+        entry.response.complete(null);
+    }
+
+    public void evictExpired() {
+        long now = System.nanoTime();
+        synchronized (entries) {
+            for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+                Entry entry = it.next();
+                // Requests still running stay, however long they take
+                if (entry.expiresAt - now <= 0 && entry.response.isDone()) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+}
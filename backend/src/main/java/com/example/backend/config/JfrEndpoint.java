@@ -0,0 +1,278 @@
+package com.example.backend.config;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.*;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Java Flight Recorder on demand, under /actuator/jfr (PR admins only, like every actuator
+ * endpoint except health):
+ *
+ *   POST   /actuator/jfr                {"duration":"60s","settings":"profile"} starts a recording
+ *   GET    /actuator/jfr                lists recordings
+ *   GET    /actuator/jfr/{id}           summary: hot methods, allocation sites, longest waits
+ *   GET    /actuator/jfr/{id}/file      the .jfr file, for JDK Mission Control
+ *   POST   /actuator/jfr/{id}           stops a recording early
+ *   DELETE /actuator/jfr/{id}           stops it and throws the data away
+ *
+ * Recordings stop by themselves after their duration. The "profile" settings sample stacks
+ * every 10 ms and cost a few percent of CPU; "default" is about 1% and sees less.
+ */
+@Component
+@Endpoint(id = "jfr")
+public class JfrEndpoint {
+
+    private static final int TOP = 15;
+    private static final String APP_PACKAGE = "com.example.backend.";
+    private static final MimeType JFR_FILE = MimeType.valueOf("application/octet-stream");
+
+    public record RecordingInfo(long id, String name, String state, Instant startTime, Duration duration, long sizeBytes) {}
+
+    public record Count(String frame, long count) {}
+
+    public record Allocation(String frame, String objectClass, long bytes) {}
+
+    public record Wait(String type, Duration duration, String detail, String thread, String frame) {}
+
+    // hotAppMethods counts each sample against the innermost frame of our own code, e.g. EventService.registerForEvent
+    public record Summary(RecordingInfo recording, long executionSamples, List<Count> hotMethods,
+                          List<Count> hotAppMethods, List<Allocation> allocationSites, List<Wait> longestWaits) {}
+
+    private final Map<Long, Recording> recordings = new ConcurrentHashMap<>();
+    private final Duration maxDuration;
+    private final long maxSizeBytes;
+    private final int maxRecordings;
+
+    public JfrEndpoint(@Value("${app.jfr.max-duration:PT10M}") Duration maxDuration,
+                       @Value("${app.jfr.max-size-mb:200}") long maxSizeMb,
+                       @Value("${app.jfr.max-recordings:3}") int maxRecordings) {
+        this.maxDuration = maxDuration;
+        this.maxSizeBytes = maxSizeMb * 1024 * 1024;
+        this.maxRecordings = maxRecordings;
+    }
+
+    @ReadOperation
+    public List<RecordingInfo> recordings() {
+        return recordings.values().stream().map(JfrEndpoint::info)
+                .sorted(Comparator.comparingLong(RecordingInfo::id)).toList();
+    }
+
+    /**
+     * @param duration How long to record (default 60s, capped at app.jfr.max-duration).
+     * @param settings "profile" (default) or "default", the two configurations the JDK ships.
+     */
+    @WriteOperation
+    public WebEndpointResponse<Object> start(@Nullable Duration duration, @Nullable String settings) {
+        if (recordings.size() >= maxRecordings) {
+            return new WebEndpointResponse<>(Map.of("message",
+                    "At most " + maxRecordings + " recordings are kept; delete one first."), 409);
+        }
+        Duration length = duration == null ? Duration.ofSeconds(60) : duration;
+        if (length.isNegative() || length.isZero() || length.compareTo(maxDuration) > 0) {
+            return new WebEndpointResponse<>(Map.of("message", "Duration must be between 1s and " + maxDuration + "."), 400);
+        }
+        String configurationName = settings == null ? "profile" : settings;
+        if (!configurationName.equals("profile") && !configurationName.equals("default")) {
+            return new WebEndpointResponse<>(Map.of("message", "Settings must be 'profile' or 'default'."), 400);
+        }
+
+        Recording recording;
+        try {
+            recording = new Recording(Configuration.getConfiguration(configurationName));
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Could not load the JFR '" + configurationName + "' settings", e);
+        }
+        recording.setName("actuator-" + configurationName);
+        recording.setDuration(length);
+        recording.setMaxSize(maxSizeBytes);
+        recording.setToDisk(true);
+        recording.start();
+        recordings.put(recording.getId(), recording);
+        return new WebEndpointResponse<>(info(recording), 200);
+    }
+
+    /**
+     * Stops a recording early. Its data stays available until it is deleted.
+     */
+    @WriteOperation
+    public WebEndpointResponse<RecordingInfo> stop(@Selector long id) {
+        Recording recording = recordings.get(id);
+        if (recording == null) {
+            return new WebEndpointResponse<>(404);
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        return new WebEndpointResponse<>(info(recording), 200);
+    }
+
+    @DeleteOperation
+    public WebEndpointResponse<Void> delete(@Selector long id) {
+        Recording recording = recordings.remove(id);
+        if (recording == null) {
+            return new WebEndpointResponse<>(404);
+        }
+        recording.close();
+        return new WebEndpointResponse<>(204);
+    }
+
+    /**
+     * The recording so far (a running one is not stopped) as a .jfr file.
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> file(@Selector long id, @Selector String part) throws IOException {
+        Recording recording = recordings.get(id);
+        if (recording == null || !part.equals("file")) {
+            return new WebEndpointResponse<>(404);
+        }
+        Path dump = dump(recording);
+        // The temporary copy disappears once the response has been streamed
+        return new WebEndpointResponse<>(new InputStreamResource(
+                Files.newInputStream(dump, StandardOpenOption.DELETE_ON_CLOSE)), 200, JFR_FILE);
+    }
+
+    @ReadOperation
+    public WebEndpointResponse<Summary> summary(@Selector long id) throws IOException {
+        Recording recording = recordings.get(id);
+        if (recording == null) {
+            return new WebEndpointResponse<>(404);
+        }
+        Path dump = dump(recording);
+        try {
+            return new WebEndpointResponse<>(summarize(recording, dump), 200);
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    // --- Helpers ---
+
+    private static Path dump(Recording recording) throws IOException {
+        Path file = Files.createTempFile("recording-" + recording.getId() + "-", ".jfr");
+        recording.dump(file);
+        return file;
+    }
+
+    /**
+     * One pass over the file. Only the top frame of each stack is kept, so memory use stays
+     * small even for long recordings.
+     */
+    private static Summary summarize(Recording recording, Path file) throws IOException {
+        Map<String, Long> samples = new HashMap<>();
+        Map<String, Long> appSamples = new HashMap<>();
+        Map<String, Long> allocations = new HashMap<>();
+        PriorityQueue<Wait> waits = new PriorityQueue<>(Comparator.comparing(Wait::duration));
+        long executionSamples = 0;
+
+        try (RecordingFile events = new RecordingFile(file)) {
+            while (events.hasMoreEvents()) {
+                RecordedEvent event = events.readEvent();
+                switch (event.getEventType().getName()) {
+                    case "jdk.ExecutionSample" -> {
+                        executionSamples++;
+                        samples.merge(topFrame(event.getStackTrace()), 1L, Long::sum);
+                        String appFrame = appFrame(event.getStackTrace());
+                        if (appFrame != null) {
+                            appSamples.merge(appFrame, 1L, Long::sum);
+                        }
+                    }
+                    case "jdk.ObjectAllocationSample" -> allocations.merge(
+                            topFrame(event.getStackTrace()) + "|" + event.getClass("objectClass").getName(),
+                            event.getLong("weight"), Long::sum);
+                    case "jdk.JavaMonitorEnter" -> keepLongest(waits, wait(event, "monitor",
+                            event.getClass("monitorClass").getName()));
+                    case "jdk.ThreadPark" -> keepLongest(waits, wait(event, "park",
+                            event.getClass("parkedClass") == null ? null : event.getClass("parkedClass").getName()));
+                    // JDBC calls spend their waiting time here
+                    case "jdk.SocketRead" -> keepLongest(waits, wait(event, "socket-read",
+                            event.getString("host") + ":" + event.getInt("port")));
+                    default -> { }
+                }
+            }
+        }
+
+        List<Count> hotMethods = top(samples);
+        List<Count> hotAppMethods = top(appSamples);
+        List<Allocation> allocationSites = allocations.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed()).limit(TOP)
+                .map(e -> {
+                    int bar = e.getKey().lastIndexOf('|');
+                    return new Allocation(e.getKey().substring(0, bar), e.getKey().substring(bar + 1), e.getValue());
+                }).toList();
+        List<Wait> longestWaits = new ArrayList<>(waits);
+        longestWaits.sort(Comparator.comparing(Wait::duration).reversed());
+
+        return new Summary(info(recording), executionSamples, hotMethods, hotAppMethods, allocationSites, longestWaits);
+    }
+
+    private static List<Count> top(Map<String, Long> counts) {
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed()).limit(TOP)
+                .map(e -> new Count(e.getKey(), e.getValue())).toList();
+    }
+
+    private static Wait wait(RecordedEvent event, String type, String detail) {
+        String thread = event.getThread() == null ? null : event.getThread().getJavaName();
+        // The top frame of a wait is always inside the JDK; where our code waited is more useful
+        String frame = appFrame(event.getStackTrace());
+        return new Wait(type, event.getDuration(), detail, thread, frame != null ? frame : topFrame(event.getStackTrace()));
+    }
+
+    private static void keepLongest(PriorityQueue<Wait> waits, Wait wait) {
+        waits.add(wait);
+        if (waits.size() > TOP) {
+            waits.poll(); // Drops the shortest
+        }
+    }
+
+    private static String topFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "(unknown)";
+        }
+        return format(stackTrace.getFrames().get(0));
+    }
+
+    @Nullable
+    private static String appFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return null;
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (frame.getMethod().getType().getName().startsWith(APP_PACKAGE)) {
+                return format(frame);
+            }
+        }
+        return null;
+    }
+
+    private static String format(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    private static RecordingInfo info(Recording recording) {
+        return new RecordingInfo(recording.getId(), recording.getName(), recording.getState().name(),
+                recording.getStartTime(), recording.getDuration(), recording.getSize());
+    }
+}
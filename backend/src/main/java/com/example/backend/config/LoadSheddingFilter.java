@@ -0,0 +1,212 @@
+package com.example.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Protects the app (and its database pool) during traffic spikes.
+ *
+ * - Login/signup and event register/unregister are rate limited per client with token buckets (429).
+ * - All /api requests share an adaptive concurrency limit; when it's reached, requests are
+ *   rejected immediately (503) rather than piling up until everything times out.
+ *
+ * Bulk endpoints that are slow by design hold a slot like any request, but their latency isn't
+ * used to adapt the limit. Clients are identified by getRemoteAddr(), which Tomcat resolves from
+ * X-Forwarded-For behind trusted proxies (server.forward-headers-strategy=native).
+ *
+ * Both responses carry Retry-After, and CORS headers from the CORS filter that runs ahead of this
+ * one (see WebConfig), so the frontend can read them. Rejections are counted in the "http.load.shed" metric.
+ * Runs before the security filters so a rejected request costs as little as possible.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private static final String[] AUTH_PATHS = {"/api/login/**", "/api/register/**"};
+    private static final String[] REGISTRATION_PATHS = {"/api/events/*/register", "/api/events/*/unregister"};
+    // Slow however idle the server is; their latency would only drag the limit down for everyone else
+    private static final String[] SLOW_BY_DESIGN_PATHS = {"/api/admin/students/import", "/api/events/*/check-ins/batch"};
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final TokenBucketRateLimiter authLimiter;
+    private final TokenBucketRateLimiter registrationLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final boolean enabled;
+
+    private final Counter rateLimitedAuth;
+    private final Counter rateLimitedRegistration;
+    private final Counter overloaded;
+
+    public LoadSheddingFilter(MeterRegistry meterRegistry,
+                              @Value("${app.load-shedding.enabled:true}") boolean enabled,
+                              @Value("${app.rate-limit.auth.capacity:10}") int authCapacity,
+                              @Value("${app.rate-limit.auth.refill-per-second:0.5}") double authRefill,
+                              @Value("${app.rate-limit.registration.capacity:20}") int registrationCapacity,
+                              @Value("${app.rate-limit.registration.refill-per-second:5}") double registrationRefill,
+                              @Value("${app.load-shedding.initial-limit:20}") int initialLimit,
+                              @Value("${app.load-shedding.min-limit:5}") int minLimit,
+                              @Value("${app.load-shedding.max-limit:200}") int maxLimit,
+                              @Value("${app.load-shedding.target-latency-ms:500}") long targetLatencyMs,
+                              @Value("${app.load-shedding.warmup-requests:200}") int warmupRequests) {
+        this.enabled = enabled;
+        this.authLimiter = new TokenBucketRateLimiter(authCapacity, authRefill);
+        this.registrationLimiter = new TokenBucketRateLimiter(registrationCapacity, registrationRefill);
+        this.concurrencyLimiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit,
+                TimeUnit.MILLISECONDS.toNanos(targetLatencyMs), 0.9, warmupRequests);
+
+        this.rateLimitedAuth = shedCounter(meterRegistry, "rate_limited", "auth");
+        this.rateLimitedRegistration = shedCounter(meterRegistry, "rate_limited", "registration");
+        this.overloaded = shedCounter(meterRegistry, "overloaded", "api");
+        Gauge.builder("http.load.concurrency.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit").register(meterRegistry);
+        Gauge.builder("http.load.concurrency.in_flight", concurrencyLimiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requests currently holding a concurrency slot").register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Browsers send CORS preflights before the real request; those are cheap and must not use up tokens
+        return !enabled || !request.getRequestURI().startsWith("/api/") || "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI();
+
+        if (matches(path, AUTH_PATHS)) {
+            long retryAfter = authLimiter.tryAcquire(request.getRemoteAddr());
+            if (retryAfter > 0) {
+                rateLimitedAuth.increment();
+                reject(response, HttpStatus.TOO_MANY_REQUESTS, retryAfter, "Too many attempts. Please try again shortly.");
+                return;
+            }
+        } else if (matches(path, REGISTRATION_PATHS)) {
+            long retryAfter = registrationLimiter.tryAcquire(request.getRemoteAddr());
+            if (retryAfter > 0) {
+                rateLimitedRegistration.increment();
+                reject(response, HttpStatus.TOO_MANY_REQUESTS, retryAfter, "Too many requests. Please try again shortly.");
+                return;
+            }
+        }
+
+        if (!concurrencyLimiter.tryAcquire()) {
+            overloaded.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1, "The server is busy. Please try again in a moment.");
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean latencySignal = !matches(path, SLOW_BY_DESIGN_PATHS);
+        boolean failed = true;
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+            if (request.isAsyncStarted()) {
+                // A streamed (Flux) response is still being written; keep the slot until it's done
+                request.getAsyncContext().addListener(new ReleaseWhenComplete(start, latencySignal));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                release(start, latencySignal, failed);
+            }
+        }
+    }
+
+    private void release(long start, boolean latencySignal, boolean failed) {
+        if (latencySignal) {
+            concurrencyLimiter.release(System.nanoTime() - start, failed);
+        } else {
+            concurrencyLimiter.releaseIgnoringLatency(failed);
+        }
+    }
+
+    @Scheduled(fixedDelay = 5, timeUnit = TimeUnit.MINUTES)
+    public void evictIdleClients() {
+        long idle = TimeUnit.MINUTES.toNanos(10);
+        authLimiter.evictIdle(idle);
+        registrationLimiter.evictIdle(idle);
+    }
+
+    private boolean matches(String path, String[] patterns) {
+        for (String pattern : patterns) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"" + message + "\"}");
+    }
+
+    private static Counter shedCounter(MeterRegistry registry, String reason, String group) {
+        return Counter.builder("http.load.shed")
+                .description("Requests rejected by rate limiting or load shedding")
+                .tag("reason", reason)
+                .tag("group", group)
+                .register(registry);
+    }
+
+    // Releases an async request's concurrency slot with its full latency once the response is complete
+    private class ReleaseWhenComplete implements AsyncListener {
+        private final long start;
+        private final boolean latencySignal;
+        private volatile boolean failed;
+
+        ReleaseWhenComplete(long start, boolean latencySignal) {
+            this.start = start;
+            this.latencySignal = latencySignal;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            boolean serverError = event.getSuppliedResponse() instanceof HttpServletResponse response
+                    && response.getStatus() >= 500;
+            release(start, latencySignal, failed || serverError);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Async processing started again on the same request; onComplete only comes at the very end
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
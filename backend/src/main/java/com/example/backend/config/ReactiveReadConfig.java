@@ -0,0 +1,111 @@
+package com.example.backend.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * The R2DBC connection pool behind the non-blocking reads under /api/reactive. It connects
+ * to the same database as the JDBC read pool (app.datasource.read.*), so pointing
+ * READ_DATASOURCE_URL at a replica moves these reads there too.
+ *
+ * Only reads use it. Every write, and so every transaction, stays on JPA; the R2DBC
+ * transaction manager is switched off (spring.autoconfigure.exclude) so @Transactional
+ * keeps finding the JPA one.
+ *
+ * Its connections count against the same Postgres max_connections as both JDBC pools; see
+ * "Connection Budget" in application.properties before raising any of them.
+ */
+@Configuration
+public class ReactiveReadConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveReadConfig.class);
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool reactiveReadPool(@Value("${app.datasource.read.url}") String jdbcUrl,
+                                           @Value("${app.datasource.read.username}") String username,
+                                           @Value("${app.datasource.read.password}") String password,
+                                           @Value("${app.reactive.pool.max-size:5}") int maxSize,
+                                           @Value("${app.reactive.pool.max-acquire-time:PT5S}") Duration maxAcquireTime) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(r2dbcUrl(jdbcUrl)).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        ConnectionFactory connectionFactory = ConnectionFactories.get(options);
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .name("reactive-read-pool")
+                .initialSize(0)
+                .maxSize(maxSize)
+                .maxAcquireTime(maxAcquireTime) // Readers queue for a connection, but not forever
+                .build());
+    }
+
+    // JDBC URL parameter -> the R2DBC driver's name for the same setting
+    private static final Map<String, String> R2DBC_OPTIONS = Map.ofEntries(
+            Map.entry("sslmode", "sslMode"),
+            Map.entry("sslrootcert", "sslRootCert"),
+            Map.entry("sslcert", "sslCert"),
+            Map.entry("sslkey", "sslKey"),
+            Map.entry("sslpassword", "sslPassword"),
+            Map.entry("currentSchema", "schema"),
+            Map.entry("ApplicationName", "applicationName"),
+            Map.entry("connectTimeout", "connectTimeout"),
+            Map.entry("tcpKeepAlive", "tcpKeepAlive"),
+            Map.entry("targetServerType", "targetServerType"),
+            Map.entry("loadBalanceHosts", "loadBalanceHosts"));
+
+    // JDBC driver tuning with no R2DBC counterpart, or set separately (user/password)
+    private static final Set<String> JDBC_ONLY = Set.of("reWriteBatchedInserts", "prepareThreshold",
+            "defaultRowFetchSize", "binaryTransfer", "user", "password");
+
+    /**
+     * jdbc:postgresql://host:5432/db?sslmode=require&currentSchema=app&reWriteBatchedInserts=true
+     * -> r2dbc:postgresql://host:5432/db?sslMode=require&schema=app
+     * Connection settings carry over under their R2DBC names; JDBC-only tuning is dropped, and
+     * anything else is dropped with a warning rather than failing startup.
+     */
+    static String r2dbcUrl(String jdbcUrl) {
+        if (!jdbcUrl.startsWith("jdbc:")) {
+            throw new IllegalArgumentException("Not a JDBC URL: " + jdbcUrl);
+        }
+        int query = jdbcUrl.indexOf('?');
+        String base = "r2dbc:" + jdbcUrl.substring("jdbc:".length(), query < 0 ? jdbcUrl.length() : query);
+        if (query < 0) {
+            return base;
+        }
+        Map<String, String> params = new LinkedHashMap<>();
+        for (String param : jdbcUrl.substring(query + 1).split("&")) {
+            int eq = param.indexOf('=');
+            String name = eq < 0 ? param : param.substring(0, eq);
+            String value = eq < 0 ? "" : param.substring(eq + 1);
+            if (name.equals("ssl")) {
+                // The JDBC driver treats ssl=true without an sslmode as verify-full
+                if (Boolean.parseBoolean(value)) {
+                    params.putIfAbsent("sslMode", "verify-full");
+                }
+            } else if (name.equals("connectTimeout")) {
+                params.put("connectTimeout", Duration.ofSeconds(Long.parseLong(value)).toString()); // JDBC: seconds
+            } else if (R2DBC_OPTIONS.containsKey(name)) {
+                params.put(R2DBC_OPTIONS.get(name), value);
+            } else if (!name.isEmpty() && !JDBC_ONLY.contains(name)) {
+                log.warn("JDBC URL parameter '{}' has no R2DBC equivalent here; the reactive read pool ignores it", name);
+            }
+        }
+        StringJoiner r2dbcQuery = new StringJoiner("&", "?", "").setEmptyValue("");
+        params.forEach((name, value) -> r2dbcQuery.add(name + "=" + value));
+        return base + r2dbcQuery;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Turns on @Scheduled background jobs (e.g. event archival).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,12 +1,18 @@
 package com.example.backend.config; // Or com.example.backend.controller depending on your structure
 
+import com.example.backend.service.SessionTokenService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity 
@@ -25,19 +31,31 @@ public class SecurityConfig {
      * This bean configures the web security rules for your API.
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, SessionTokenService sessionTokenService) throws Exception {
         http
             // Disables CSRF protection, which is not needed for stateless REST APIs
             .csrf(csrf -> csrf.disable()) 
+
+            // Identity comes from the signed token on each request, never from an HTTP session
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .addFilterBefore(new SessionTokenFilter(sessionTokenService), UsernamePasswordAuthenticationFilter.class)
+            // No token where one is needed: 401, so clients know to log in (a token without the role still gets 403)
+            .exceptionHandling(exceptions -> exceptions.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
             
             // Configures URL-based authorization
             .authorizeHttpRequests(auth -> auth
+                // Bulk account import creates approved logins, so it needs a PR admin token
+                .requestMatchers(HttpMethod.POST, "/api/admin/students/import").hasRole("PR_ADMIN")
                 // Allows all requests to any URL starting with /api/
                 .requestMatchers("/api/**").permitAll() 
+                // Health checks are used by the hosting platform and must stay open
+                .requestMatchers("/actuator/health/**").permitAll()
+                // Metrics and other operational endpoints need a PR admin token
+                .requestMatchers("/actuator/**").hasRole("PR_ADMIN")
                 // Any other request that doesn't match the above must be authenticated
                 .anyRequest().authenticated()
             );
             
         return http.build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,71 @@
+package com.example.backend.config;
+
+import com.example.backend.service.SessionTokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads "Authorization: Bearer <token>", verifies it with SessionTokenService and puts
+ * the user (with ROLE_STUDENT, ROLE_PR_ADMIN, ...) into the security context.
+ * Requests without a token continue anonymously; requests with a bad token get a 401, except
+ * on the login and signup endpoints, which ignore the header so an expired token can't stop
+ * anyone from getting a new one. The 401 gets CORS headers from the filter ahead of this one.
+ */
+public class SessionTokenFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String[] TOKEN_FREE_PATHS = {"/api/login/", "/api/register/"};
+
+    private final SessionTokenService sessionTokenService;
+
+    public SessionTokenFilter(SessionTokenService sessionTokenService) {
+        this.sessionTokenService = sessionTokenService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        for (String prefix : TOKEN_FREE_PATHS) {
+            if (path.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        var claims = sessionTokenService.verify(header.substring(BEARER_PREFIX.length()).trim());
+        if (claims.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"message\":\"Invalid or expired session token.\"}");
+            return;
+        }
+
+        String role = claims.get().role() == null ? "" : claims.get().role().toUpperCase(Locale.ROOT);
+        var authentication = new UsernamePasswordAuthenticationToken(
+                claims.get().email(), null, List.of(new SimpleGrantedAuthority("ROLE_" + role)));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.backend.config;
+
+import com.example.backend.service.AccountCacheService;
+import com.example.backend.service.AnnouncementFeedService;
+import com.example.backend.service.ChangeLogService;
+import com.example.backend.service.ClusterCoordinator;
+import com.example.backend.service.EventArchiveService;
+import com.example.backend.service.EventService;
+import com.example.backend.service.NotificationCoalescer;
+import com.example.backend.service.RegistrationAnalyticsService;
+import com.example.backend.service.SessionTokenService;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Settings for the "fast-start" profile, where beans are created lazily on first use.
+ */
+@Configuration
+public class StartupConfig {
+
+    /**
+     * Beans with @Scheduled methods only get their jobs registered once they exist,
+     * so they must be created at startup even when everything else is lazy. The same goes
+     * for the cluster listener and the beans subscribing to it, which must hear about changes
+     * from the start: a change published before they subscribe is never delivered to them.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter scheduledBeansAreEager() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                EventArchiveService.class,
+                SessionTokenService.class,
+                NotificationCoalescer.class,
+                RegistrationAnalyticsService.class,
+                ChangeLogService.class,
+                ClusterCoordinator.class,
+                EventService.class,
+                AnnouncementFeedService.class,
+                AccountCacheService.class,
+                LoadSheddingFilter.class,
+                IdempotencyFilter.class);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.backend.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One token bucket per client. Each request takes a token; tokens refill at a fixed rate
+ * up to the bucket's capacity, so clients get short bursts but not a sustained flood.
+ */
+public class TokenBucketRateLimiter {
+
+    private final double capacity;
+    private final double refillPerNano;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    public TokenBucketRateLimiter(int capacity, double refillPerSecond) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / 1_000_000_000d;
+    }
+
+    /**
+     * @return 0 if the request may go ahead, otherwise how many seconds until a token is available.
+     */
+    public long tryAcquire(String clientKey) {
+        return buckets.computeIfAbsent(clientKey, k -> new Bucket(capacity, System.nanoTime())).tryTake();
+    }
+
+    /**
+     * Forgets clients whose bucket has been full for a while; they'd start with a full bucket anyway.
+     */
+    public void evictIdle(long idleNanos) {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isIdleSince(now - idleNanos));
+    }
+
+    private final class Bucket {
+        private double tokens;
+        private long lastRefill;
+
+        Bucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.lastRefill = now;
+        }
+
+        synchronized long tryTake() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+            lastRefill = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((1 - tokens) / refillPerNano / 1_000_000_000d));
+        }
+
+        synchronized boolean isIdleSince(long time) {
+            return lastRefill < time;
+        }
+    }
+}
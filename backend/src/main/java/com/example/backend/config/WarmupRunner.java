@@ -0,0 +1,172 @@
+package com.example.backend.config;
+
+import com.example.backend.model.EventSummaryDTO;
+import com.example.backend.repository.EventRepository;
+import com.example.backend.repository.NotificationRepository;
+import com.example.backend.repository.PrAdminRepository;
+import com.example.backend.repository.StudentRepository;
+import com.example.backend.service.AnnouncementFeedService;
+import com.example.backend.service.EventSearchService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exercises the hot paths once before the app reports itself ready.
+ *
+ * Spring Boot only switches the readiness probe (/actuator/health/readiness) to ACCEPTING_TRAFFIC
+ * after all ApplicationRunners have finished, so the first real users don't pay for JIT compilation,
+ * Hibernate query plan setup, empty connection pools, cold caches or BCrypt class loading.
+ * Each step is timed; the totals are logged and published as the "app.warmup.duration" metric.
+ */
+@Component
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmupRunner.class);
+
+    // Never matches a real account, so warm-up can't change or leak any data
+    private static final String PROBE_EMAIL = "warmup@campus-connect.invalid";
+
+    private final EventRepository eventRepository;
+    private final StudentRepository studentRepository;
+    private final PrAdminRepository prAdminRepository;
+    private final NotificationRepository notificationRepository;
+    private final EventSearchService eventSearchService;
+    private final AnnouncementFeedService announcementFeedService;
+    private final ObjectMapper objectMapper;
+    private final PasswordEncoder passwordEncoder;
+    private final HikariDataSource primaryPool;
+    private final HikariDataSource readPool;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int iterations;
+
+    public WarmupRunner(EventRepository eventRepository,
+                        StudentRepository studentRepository,
+                        PrAdminRepository prAdminRepository,
+                        NotificationRepository notificationRepository,
+                        EventSearchService eventSearchService,
+                        AnnouncementFeedService announcementFeedService,
+                        ObjectMapper objectMapper,
+                        PasswordEncoder passwordEncoder,
+                        @Qualifier("primaryPool") HikariDataSource primaryPool,
+                        @Qualifier("readPool") HikariDataSource readPool,
+                        MeterRegistry meterRegistry,
+                        @Value("${app.warmup.enabled:true}") boolean enabled,
+                        @Value("${app.warmup.iterations:20}") int iterations) {
+        this.eventRepository = eventRepository;
+        this.studentRepository = studentRepository;
+        this.prAdminRepository = prAdminRepository;
+        this.notificationRepository = notificationRepository;
+        this.eventSearchService = eventSearchService;
+        this.announcementFeedService = announcementFeedService;
+        this.objectMapper = objectMapper;
+        this.passwordEncoder = passwordEncoder;
+        this.primaryPool = primaryPool;
+        this.readPool = readPool;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.iterations = iterations;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        Map<String, Long> timings = new LinkedHashMap<>();
+        long start = System.nanoTime();
+
+        step(timings, "pools", () -> {
+            fillPool(primaryPool);
+            fillPool(readPool);
+        });
+        step(timings, "queries", () -> {
+            for (int i = 0; i < iterations; i++) {
+                eventRepository.findByStatus("published");
+                studentRepository.findByEmail(PROBE_EMAIL);
+                prAdminRepository.findByEmail(PROBE_EMAIL);
+                notificationRepository.findByUserEmailNewestFirst(PROBE_EMAIL);
+            }
+        });
+        step(timings, "caches", () -> {
+            eventSearchService.search(null, null, null, null, 0, 20, null);
+            announcementFeedService.getFeed(null, null, null);
+            announcementFeedService.getFeed("student", null, null);
+        });
+        step(timings, "serialization", () -> {
+            List<EventSummaryDTO> events = eventRepository.findByStatus("published").stream()
+                    .map(e -> EventSummaryDTO.from(e, PROBE_EMAIL)).toList();
+            for (int i = 0; i < iterations; i++) {
+                objectMapper.writeValueAsBytes(events);
+                objectMapper.writeValueAsBytes(announcementFeedService.getFeed("student", null, null));
+            }
+        });
+        step(timings, "password-hashing", () -> {
+            // One hash plus one check is enough to load and JIT the BCrypt code; each call is deliberately slow
+            String hash = passwordEncoder.encode("warmup");
+            passwordEncoder.matches("warmup", hash);
+        });
+
+        long total = System.nanoTime() - start;
+        timings.put("total", total);
+        timings.forEach((name, nanos) -> TimeGauge.builder("app.warmup.duration", () -> nanos, TimeUnit.NANOSECONDS)
+                .description("Time spent warming up before accepting traffic")
+                .tag("step", name)
+                .register(meterRegistry));
+
+        List<String> parts = new ArrayList<>();
+        timings.forEach((name, nanos) -> parts.add(name + "=" + TimeUnit.NANOSECONDS.toMillis(nanos) + "ms"));
+        log.info("Warm-up finished before accepting traffic: {}", String.join(", ", parts));
+    }
+
+    /**
+     * Borrows connections up to the pool's minimum idle size at the same time, so they are
+     * all open (not just the one Hikari creates at startup) before the first request arrives.
+     */
+    private void fillPool(HikariDataSource pool) throws Exception {
+        List<Connection> connections = new ArrayList<>();
+        try {
+            int target = Math.max(1, Math.min(pool.getMinimumIdle(), pool.getMaximumPoolSize()));
+            for (int i = 0; i < target; i++) {
+                connections.add(pool.getConnection());
+            }
+        } finally {
+            for (Connection connection : connections) {
+                connection.close();
+            }
+        }
+    }
+
+    private void step(Map<String, Long> timings, String name, WarmupStep work) {
+        long start = System.nanoTime();
+        try {
+            work.run();
+        } catch (Exception e) {
+            // A failed warm-up only means a slower first request; it must never stop the app from starting
+            log.warn("Warm-up step '{}' failed: {}", name, e.getMessage());
+        }
+        timings.put(name, System.nanoTime() - start);
+    }
+
+    @FunctionalInterface
+    private interface WarmupStep {
+        void run() throws Exception;
+    }
+}
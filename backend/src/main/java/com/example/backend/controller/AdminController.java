@@ -1,18 +1,31 @@
 package com.example.backend.controller;
 
 import com.example.backend.model.AccountStatus;
+import com.example.backend.model.AdminSummary;
 import com.example.backend.model.PrAdmin;
-import com.example.backend.model.Student;
+import com.example.backend.model.PrAdminDTO;
+import com.example.backend.model.StudentSummaryDTO;
+import com.example.backend.repository.AnnouncementRepository;
+import com.example.backend.repository.EventRepository;
 import com.example.backend.repository.PrAdminRepository;
 import com.example.backend.repository.StudentRepository;
+import com.example.backend.service.AccountCacheService;
+import com.example.backend.service.PrimaryReads;
+import com.example.backend.service.SessionTokenService;
+import com.example.backend.service.StudentImportService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 // A simple record for the PR Admin creation request
 record PrAdminRequest(String name, String email, String password) {}
@@ -31,33 +44,114 @@ public class AdminController {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    // Keeps the second-level cache in step with approve/reject/delete
+    @Autowired
+    private AccountCacheService accountCacheService;
+
+    // Removed accounts must not keep using tokens they were issued earlier
+    @Autowired
+    private SessionTokenService sessionTokenService;
+
+    @Autowired
+    private StudentImportService studentImportService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    // Accounts about to be changed are read from the primary; a replica may not have them yet
+    @Autowired
+    private PrimaryReads primaryReads;
+
+    @Autowired
+    private AnnouncementRepository announcementRepository;
+
+    /**
+     * Counts for the dashboard's stat cards. A handful of grouped COUNT queries, so the cost
+     * doesn't grow with the number of accounts the way loading the full lists does.
+     */
+    @GetMapping("/summary")
+    public AdminSummary getSummary() {
+        AdminSummary summary = new AdminSummary();
+
+        Map<AccountStatus, Long> students = new EnumMap<>(AccountStatus.class);
+        for (AccountStatus status : AccountStatus.values()) {
+            students.put(status, 0L);
+        }
+        long totalStudents = 0;
+        for (Object[] row : studentRepository.countByStatus()) {
+            if (row[0] != null) {
+                students.put((AccountStatus) row[0], (Long) row[1]);
+            }
+            totalStudents += (Long) row[1];
+        }
+        summary.setStudents(students);
+        summary.setTotalStudents(totalStudents);
+        summary.setPrAdmins(prAdminRepository.count());
+
+        summary.setEvents(countsByStatus(eventRepository.countByStatus()));
+        summary.setTotalEvents(summary.getEvents().values().stream().mapToLong(Long::longValue).sum());
+        summary.setAnnouncements(countsByStatus(announcementRepository.countByStatus()));
+        summary.setTotalAnnouncements(summary.getAnnouncements().values().stream().mapToLong(Long::longValue).sum());
+        return summary;
+    }
+
+    private static Map<String, Long> countsByStatus(List<Object[]> rows) {
+        Map<String, Long> counts = new TreeMap<>();
+        for (Object[] row : rows) {
+            counts.merge(row[0] == null ? "none" : (String) row[0], (Long) row[1], Long::sum);
+        }
+        return counts;
+    }
+
     // --- Student Management Endpoints (Unchanged) ---
 
     @GetMapping("/pending-students")
-    public List<Student> getPendingStudents() {
-        return studentRepository.findByStatus(AccountStatus.PENDING);
+    public List<StudentSummaryDTO> getPendingStudents() {
+        return studentRepository.findByStatus(AccountStatus.PENDING).stream().map(StudentSummaryDTO::from).toList();
     }
 
     @PostMapping("/students/{id}/approve")
     public ResponseEntity<?> approveStudent(@PathVariable Long id) {
-        return studentRepository.findById(id).map(student -> {
+        return primaryReads.run(() -> studentRepository.findById(id)).map(student -> {
             student.setStatus(AccountStatus.APPROVED);
             studentRepository.save(student);
+            accountCacheService.evictStudent(id);
             return ResponseEntity.ok(Map.of("message", "Student approved successfully."));
         }).orElse(ResponseEntity.notFound().build());
     }
 
     @PostMapping("/students/{id}/reject")
     public ResponseEntity<?> rejectStudent(@PathVariable Long id) {
-        return studentRepository.findById(id).map(student -> {
+        return primaryReads.run(() -> studentRepository.findById(id)).map(student -> {
             studentRepository.delete(student);
+            accountCacheService.evictStudent(id);
+            sessionTokenService.revoke(student.getEmail());
             return ResponseEntity.ok(Map.of("message", "Student rejected and removed."));
         }).orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Bulk import, e.g. a whole intake. Send the file as the request body:
+     *   Content-Type: text/csv             header line "name,email,password" (name is optional)
+     *   Content-Type: application/x-ndjson  one {"name":..,"email":..,"password":..} per line
+     * Passwords may already be BCrypt hashes. Imported accounts are APPROVED unless ?status=PENDING.
+     * Needs "Authorization: Bearer <token>" from a PR admin login (see SecurityConfig).
+     */
+    @PostMapping(value = "/students/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<?> importStudents(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                            @RequestParam(defaultValue = "APPROVED") AccountStatus status,
+                                            InputStream body) throws IOException {
+        StudentImportService.Format format = contentType.contains("csv")
+                ? StudentImportService.Format.CSV : StudentImportService.Format.NDJSON;
+        return studentImportService.importStudents(body, format, status)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.status(HttpStatus.CONFLICT)
+                        .body(Map.of("message", "Another import is still running.")));
+    }
+
     @GetMapping("/all-students")
-    public List<Student> getAllStudents() {
-        return studentRepository.findAll();
+    public List<StudentSummaryDTO> getAllStudents() {
+        return studentRepository.findAll().stream().map(StudentSummaryDTO::from).toList();
     }
 
     // --- NEW: PR Admin Management Endpoints ---
@@ -80,7 +174,8 @@ public class AdminController {
         newPrAdmin.setRole("pr_admin"); // Assign the correct role
 
         PrAdmin savedAdmin = prAdminRepository.save(newPrAdmin);
-        return ResponseEntity.status(HttpStatus.CREATED).body(savedAdmin);
+        accountCacheService.evictPrAdmin(savedAdmin.getId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(PrAdminDTO.from(savedAdmin));
     }
 
     /**
@@ -88,8 +183,8 @@ public class AdminController {
      * This is used to populate the list in the Main Admin Dashboard.
      */
     @GetMapping("/pr-admins")
-    public List<PrAdmin> getAllPrAdmTins() {
-        return prAdminRepository.findAll();
+    public List<PrAdminDTO> getAllPrAdmTins() {
+        return prAdminRepository.findAll().stream().map(PrAdminDTO::from).toList();
     }
 
     // --- *** NEWLY ADDED METHOD *** ---
@@ -100,10 +195,12 @@ public class AdminController {
     @DeleteMapping("/pr-admins/{id}")
     public ResponseEntity<?> deletePrAdmin(@PathVariable Long id) {
         // Use the repository to find the admin by their ID
-        return prAdminRepository.findById(id)
+        return primaryReads.run(() -> prAdminRepository.findById(id))
             .map(admin -> {
                 // If the admin is found, delete them
                 prAdminRepository.delete(admin);
+                accountCacheService.evictPrAdmin(id);
+                sessionTokenService.revoke(admin.getEmail());
                 // Return a 200 OK response with a success message
                 return ResponseEntity.ok(Map.of("message", "PR Admin deleted successfully."));
             })
@@ -0,0 +1,31 @@
+package com.example.backend.controller;
+
+import com.example.backend.model.RegistrationAnalytics;
+import com.example.backend.service.RegistrationAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private final RegistrationAnalyticsService analyticsService;
+
+    /**
+     * Dashboard numbers: totals, fill ratio per category, top events and registrations per day.
+     * Precomputed, so this never touches the database. At most app.analytics.flush-interval old.
+     */
+    @GetMapping("/registrations")
+    public ResponseEntity<RegistrationAnalytics> getRegistrationAnalytics() {
+        return ResponseEntity.ok(analyticsService.getSnapshot());
+    }
+
+    @GetMapping("/registrations/events/{eventId}")
+    public ResponseEntity<List<RegistrationAnalytics.DailyStats>> getEventHistory(@PathVariable Long eventId) {
+        return ResponseEntity.ok(analyticsService.getEventHistory(eventId));
+    }
+}
@@ -2,7 +2,11 @@ package com.example.backend.controller;
 
 import com.example.backend.model.Announcement;
 import com.example.backend.repository.AnnouncementRepository;
+import com.example.backend.service.AnnouncementFeedService;
+import com.example.backend.service.ChangeLogService;
+import com.example.backend.service.PrimaryReads;
 import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.*;
 import java.time.LocalDate;
 import java.util.List;
@@ -12,33 +16,60 @@ import java.util.List;
 @RequiredArgsConstructor
 public class AnnouncementController {
     private final AnnouncementRepository announcementRepository;
+    private final AnnouncementFeedService announcementFeedService;
+    private final ChangeLogService changeLogService;
+    private final PrimaryReads primaryReads;
+
+    // Saves an announcement and its change log entry together
+    private final TransactionTemplate transactionTemplate;
 
     @GetMapping("/all")
     public List<Announcement> getAllAnnouncements() {
         return announcementRepository.findAll();
     }
     
+    /**
+     * Published announcements for the given audience, e.g. /api/announcements?role=student&department=CSE&year=2
+     * Without any parameters only announcements for everyone are returned; /all lists every announcement.
+     */
     @GetMapping
-    public List<Announcement> getPublishedAnnouncements() {
-        return announcementRepository.findByStatus("published");
+    public List<Announcement> getPublishedAnnouncements(@RequestParam(required = false) String role,
+                                                        @RequestParam(required = false) String department,
+                                                        @RequestParam(required = false) String year) {
+        return announcementFeedService.getFeed(role, department, year);
     }
 
     @PostMapping
     public Announcement createAnnouncement(@RequestBody Announcement announcement) {
         announcement.setCreatedAt(LocalDate.now());
-        return announcementRepository.save(announcement);
+        return transactionTemplate.execute(status -> {
+            Announcement saved = announcementRepository.save(announcement);
+            changeLogService.record("announcement", saved.getId(), "created", saved);
+            return saved;
+        });
     }
 
     @PutMapping("/{id}/publish")
     public Announcement publishAnnouncement(@PathVariable Long id) {
-        Announcement announcement = announcementRepository.findById(id).orElseThrow(() -> new RuntimeException("Announcement not found"));
+        // From the primary: a replica may not have a draft created a moment ago
+        Announcement announcement = primaryReads.run(() -> announcementRepository.findById(id)).orElseThrow(() -> new RuntimeException("Announcement not found"));
         announcement.setStatus("published");
         announcement.setPublishedAt(LocalDate.now());
-        return announcementRepository.save(announcement);
+        Announcement saved = transactionTemplate.execute(status -> {
+            Announcement published = announcementRepository.save(announcement);
+            changeLogService.record("announcement", published.getId(), "published", published);
+            return published;
+        });
+        announcementFeedService.onPublished(saved);
+        return saved;
     }
 
     @DeleteMapping("/{id}")
     public void deleteAnnouncement(@PathVariable Long id) {
-        announcementRepository.deleteById(id);
+        transactionTemplate.executeWithoutResult(status -> {
+            announcementRepository.deleteById(id);
+            changeLogService.record("announcement", id, "deleted", null);
+        });
+        announcementFeedService.onDeleted(id);
     }
-}
\ No newline at end of file
+}
@@ -5,6 +5,8 @@ import com.example.backend.model.PrAdmin;
 import com.example.backend.model.Student;
 import com.example.backend.repository.PrAdminRepository;
 import com.example.backend.repository.StudentRepository;
+import com.example.backend.service.PrimaryReads;
+import com.example.backend.service.SessionTokenService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -30,6 +32,12 @@ public class AuthController {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private SessionTokenService sessionTokenService;
+
+    @Autowired
+    private PrimaryReads primaryReads;
+
     /**
      * API Endpoint to create a new student account.
      * Handles POST requests to /api/register/student
@@ -65,7 +73,8 @@ public class AuthController {
      */
     @PostMapping("/login/student")
     public ResponseEntity<?> loginStudent(@RequestBody AuthRequest request) {
-        Optional<Student> studentOptional = studentRepository.findByEmail(request.email());
+        // Read from the primary so a student who was just approved can log in straight away
+        Optional<Student> studentOptional = primaryReads.run(() -> studentRepository.findByEmail(request.email()));
 
         if (studentOptional.isEmpty()) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -85,10 +94,12 @@ public class AuthController {
             }
 
             // Passwords match and account is approved!
+            // The token lets later requests prove who they are without another lookup
             Map<String, String> userDetails = Map.of(
                 "name", student.getName(),
                 "email", student.getEmail(),
-                "role", student.getRole()
+                "role", student.getRole(),
+                "token", sessionTokenService.issue(student.getEmail(), student.getRole())
             );
             return ResponseEntity.ok(userDetails);
         } else {
@@ -116,7 +127,8 @@ public class AuthController {
             Map<String, String> userDetails = Map.of(
                 "name", prAdmin.getName(),
                 "email", prAdmin.getEmail(),
-                "role", prAdmin.getRole()
+                "role", prAdmin.getRole(),
+                "token", sessionTokenService.issue(prAdmin.getEmail(), prAdmin.getRole())
             );
             return ResponseEntity.ok(userDetails);
         } else {
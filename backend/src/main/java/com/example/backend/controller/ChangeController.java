@@ -0,0 +1,26 @@
+package com.example.backend.controller;
+
+import com.example.backend.model.ChangeFeedResponse;
+import com.example.backend.service.ChangeLogService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/changes")
+@RequiredArgsConstructor
+public class ChangeController {
+
+    private final ChangeLogService changeLogService;
+
+    /**
+     * Incremental sync for the dashboards, e.g. /api/changes?since=1234
+     * Load the full lists once, call this without 'since' to get a starting cursor, then keep
+     * passing back the returned cursor. If resetRequired comes back, reload the full lists.
+     */
+    @GetMapping
+    public ResponseEntity<ChangeFeedResponse> getChanges(@RequestParam(required = false) Long since,
+                                                         @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(changeLogService.getChanges(since, limit));
+    }
+}
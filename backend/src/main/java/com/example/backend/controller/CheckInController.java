@@ -0,0 +1,56 @@
+package com.example.backend.controller;
+
+import com.example.backend.model.CheckInBatchResult;
+import com.example.backend.model.CheckInRecord;
+import com.example.backend.model.CheckInRoster;
+import com.example.backend.service.CheckInService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/events/{eventId}/check-ins")
+@RequiredArgsConstructor
+public class CheckInController {
+
+    // Bigger uploads should be split by the scanner app
+    private static final int MAX_BATCH = 10_000;
+
+    private final CheckInService checkInService;
+
+    /**
+     * Roster snapshot for scanners. Send the last version back as If-None-Match to get a
+     * 304 with no body when nothing has changed.
+     */
+    @GetMapping("/roster")
+    public ResponseEntity<CheckInRoster> getRoster(@PathVariable Long eventId, WebRequest request) {
+        Optional<CheckInRoster> roster = checkInService.getRoster(eventId);
+        if (roster.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = "\"" + roster.get().version() + "\"";
+        if (request.checkNotModified(etag)) {
+            return null; // Spring has already answered 304 Not Modified
+        }
+        return ResponseEntity.ok().eTag(etag).body(roster.get());
+    }
+
+    /**
+     * Uploads scans collected at the gate, possibly while offline. Re-uploading is safe.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> uploadBatch(@PathVariable Long eventId, @RequestBody List<CheckInRecord> records) {
+        if (records.size() > MAX_BATCH) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body(Map.of("message", "At most " + MAX_BATCH + " check-ins per upload."));
+        }
+        Optional<CheckInBatchResult> result = checkInService.recordBatch(eventId, records);
+        return result.<ResponseEntity<?>>map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    }
+}
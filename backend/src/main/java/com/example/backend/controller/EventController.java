@@ -4,16 +4,28 @@ package com.example.backend.controller;
 
 import com.example.backend.model.Event;
 
+import com.example.backend.model.EventSearchResponse;
+
+import com.example.backend.model.EventSummaryDTO;
+
 import com.example.backend.repository.EventRepository;
 
+import com.example.backend.service.EventArchiveService;
+
+import com.example.backend.service.EventSearchService;
+
 import com.example.backend.service.EventService;
 
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.format.annotation.DateTimeFormat;
+
 import org.springframework.http.ResponseEntity;
 
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+
 import java.util.List;
 
 import java.util.Map;
@@ -32,22 +44,62 @@ public class EventController {
 
  private final EventService eventService;
 
+ private final EventSearchService eventSearchService;
+
+ private final EventArchiveService eventArchiveService;
+
 
 
  @GetMapping("/all")
 
- public List<Event> getAllEvents() {
+ public List<EventSummaryDTO> getAllEvents() {
 
-return eventRepository.findAll();
+return eventRepository.findAll().stream().map(e -> EventSummaryDTO.from(e, null)).toList();
 
  }
 
 
 
+ /**
+  * Published events. Pass ?viewer=<email> to learn which of them that user is registered for.
+  */
  @GetMapping
- public List<Event> getPublishedEvents() {
+ public List<EventSummaryDTO> getPublishedEvents(@RequestParam(required = false) String viewer) {
+
+ return eventService.getPublishedEvents().stream().map(e -> EventSummaryDTO.from(e, viewer)).toList();
+
+ }
+
+
+
+ /**
+  * Full-text search over published events, e.g. /api/events/search?q=hack&category=technical&from=2025-01-01
+  * Matches title, description, location and category; the last word is matched as a prefix.
+  */
+ @GetMapping("/search")
+ public EventSearchResponse searchEvents(@RequestParam(required = false) String q,
+                                         @RequestParam(required = false) String category,
+                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                         @RequestParam(defaultValue = "0") int page,
+                                         @RequestParam(defaultValue = "20") int size,
+                                         @RequestParam(required = false) String viewer) {
+
+ return eventSearchService.search(q, category, from, to, Math.max(page, 0), Math.min(Math.max(size, 1), 100), viewer);
+
+ }
+
+
+
+ /**
+  * Past events that have been moved to the archive, newest first.
+  */
+ @GetMapping("/archive")
+ public List<EventSummaryDTO> getArchivedEvents(@RequestParam(defaultValue = "0") int page,
+                                                 @RequestParam(defaultValue = "20") int size) {
 
- return eventRepository.findByStatus("published");
+ return eventArchiveService.getArchivedEvents(Math.max(page, 0), Math.min(Math.max(size, 1), 100))
+         .stream().map(EventSummaryDTO::from).toList();
 
  }
 
@@ -55,18 +107,18 @@ return eventRepository.findAll();
 
  @PostMapping
 
- public Event createEvent(@RequestBody Event event) {
+ public EventSummaryDTO createEvent(@RequestBody Event event) {
 
- return eventService.createEvent(event);
+ return EventSummaryDTO.from(eventService.createEvent(event), null);
 
  }
 
 
 
  @PutMapping("/{id}/publish")
- public Event publishEvent(@PathVariable Long id) {
+ public EventSummaryDTO publishEvent(@PathVariable Long id) {
 
- return eventService.publishEvent(id);
+ return EventSummaryDTO.from(eventService.publishEvent(id), null);
 
 }
 
@@ -76,7 +128,7 @@ return eventRepository.findAll();
 
  public void deleteEvent(@PathVariable Long id) {
 
- eventRepository.deleteById(id);
+ eventService.deleteEvent(id);
 
  }
 
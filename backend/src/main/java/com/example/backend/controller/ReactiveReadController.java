@@ -0,0 +1,44 @@
+package com.example.backend.controller;
+
+import com.example.backend.model.Announcement;
+import com.example.backend.model.EventSummaryDTO;
+import com.example.backend.model.Notification;
+import com.example.backend.service.ReactiveReadService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+/**
+ * Non-blocking alternatives to GET /api/events, /api/announcements and
+ * /api/notifications/{userEmail}, with the same parameters and JSON. The request thread is
+ * handed back while the database works, and a connection is only held while rows are read.
+ *
+ * Ask for "Accept: application/x-ndjson" to get one JSON object per line, written as the
+ * rows arrive; the next rows are only fetched once the client has taken the previous ones.
+ * Otherwise the whole array is sent at the end, as with the blocking endpoints. (No
+ * "produces" on the mappings: Spring MVC would then stream whatever the client accepts.)
+ */
+@RestController
+@RequestMapping("/api/reactive")
+@RequiredArgsConstructor
+public class ReactiveReadController {
+
+    private final ReactiveReadService reactiveReadService;
+
+    @GetMapping("/events")
+    public Flux<EventSummaryDTO> getPublishedEvents(@RequestParam(required = false) String viewer) {
+        return reactiveReadService.getPublishedEvents(viewer);
+    }
+
+    @GetMapping("/announcements")
+    public Flux<Announcement> getPublishedAnnouncements(@RequestParam(required = false) String role,
+                                                        @RequestParam(required = false) String department,
+                                                        @RequestParam(required = false) String year) {
+        return reactiveReadService.getPublishedAnnouncements(role, department, year);
+    }
+
+    @GetMapping("/notifications/{userEmail}")
+    public Flux<Notification> getNotifications(@PathVariable String userEmail) {
+        return reactiveReadService.getNotifications(userEmail);
+    }
+}
@@ -6,6 +6,8 @@ import com.example.backend.model.RegistrationDetailDTO;
 import com.example.backend.repository.EventRepository;
 import com.example.backend.repository.StudentRepository;
 import com.example.backend.repository.StudentRegistrationRepository;
+import com.example.backend.service.EventService;
+import com.example.backend.service.SingleFlight;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -28,10 +30,18 @@ public class StudentRegistrationController {
     @Autowired
     private StudentRepository studentRepository;
 
+    // A popular event's registrant list gets asked for by many dashboards at once
+    @Autowired
+    private SingleFlight singleFlight;
+
     // ... (Your other POST mapping for creating a registration) ...
 
     @GetMapping("/event/{eventId}")
     public ResponseEntity<List<RegistrationDetailDTO>> getRegistrationsByEvent(@PathVariable Long eventId) {
+        return ResponseEntity.ok(singleFlight.execute(EventService.EVENT_REGISTRANTS, eventId, () -> loadRegistrations(eventId)));
+    }
+
+    private List<RegistrationDetailDTO> loadRegistrations(Long eventId) {
         List<StudentRegistration> registrations = registrationRepository.findByEventId(eventId);
         List<RegistrationDetailDTO> detailedRegistrations = new ArrayList<>();
 
@@ -52,6 +62,6 @@ public class StudentRegistrationController {
             }
         }
         
-        return ResponseEntity.ok(detailedRegistrations);
+        return List.copyOf(detailedRegistrations);
     }
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.example.backend.model;
+
+import lombok.Data;
+import java.util.Map;
+
+@Data // Stat-card counts for the Main Admin Dashboard; every status is present, with 0 if nothing has it
+public class AdminSummary {
+    private Map<AccountStatus, Long> students;
+    private long totalStudents;
+    private long prAdmins;
+    private Map<String, Long> events; // By status, e.g. "published", "draft"
+    private long totalEvents;
+    private Map<String, Long> announcements; // By status
+    private long totalAnnouncements;
+}
@@ -0,0 +1,61 @@
+package com.example.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A finished event moved out of the hot 'events' table by EventArchiveService.
+ * The id is the original event id, so links to an old event keep working.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "archived_events")
+public class ArchivedEvent {
+    @Id
+    private Long id;
+
+    private String title;
+    private String description;
+    private LocalDate date;
+    private LocalTime time;
+    private String location;
+    private String category;
+    private int maxAttendees;
+    private String priority;
+    private String status;
+    private String createdBy;
+    private LocalDateTime archivedAt;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "archived_event_registrations", joinColumns = @JoinColumn(name = "event_id"))
+    @Column(name = "user_email")
+    private Set<String> registeredUsers = new HashSet<>();
+
+    // Copies everything from the live event, including who registered for it
+    public ArchivedEvent(Event event, LocalDateTime archivedAt) {
+        this.id = event.getId();
+        this.title = event.getTitle();
+        this.description = event.getDescription();
+        this.date = event.getDate();
+        this.time = event.getTime();
+        this.location = event.getLocation();
+        this.category = event.getCategory();
+        this.maxAttendees = event.getMaxAttendees();
+        this.priority = event.getPriority();
+        this.status = event.getStatus();
+        this.createdBy = event.getCreatedBy();
+        this.registeredUsers = new HashSet<>(event.getRegisteredUsers());
+        this.archivedAt = archivedAt;
+    }
+
+    public Integer getAttendees() {
+        return registeredUsers.size();
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.backend.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Data;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data // One page of GET /api/changes
+public class ChangeFeedResponse {
+    private List<Change> changes;
+    private long cursor;      // Pass this as ?since= next time
+    private boolean hasMore;  // More changes are waiting; ask again straight away
+    private boolean resetRequired; // The cursor is older than the retained log; reload the full lists instead
+
+    public record Change(Long id, String entityType, String entityKey, String action,
+                         LocalDateTime occurredAt, JsonNode payload) {}
+}
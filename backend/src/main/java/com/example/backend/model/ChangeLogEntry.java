@@ -0,0 +1,47 @@
+package com.example.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SourceType;
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the append-only change log behind GET /api/changes. The id of the transaction
+ * that wrote it doubles as the sync cursor. The payload is the entity's state after the change
+ * (JSON), or null for deletes.
+ */
+@Entity
+@Data
+@Table(name = "change_log", indexes = {
+        @Index(name = "idx_change_log_entity", columnList = "entity_type, entity_key"),
+        @Index(name = "idx_change_log_tx", columnList = "tx_id, id")})
+public class ChangeLogEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // The writing transaction's id, filled in by Postgres. Transactions get ids when they start
+    // but may commit in any order, so the feed only hands out ids below every running transaction.
+    @Column(name = "tx_id", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "bigint default (pg_current_xact_id()::text::bigint)")
+    private Long txId;
+
+    @Column(name = "entity_type", nullable = false)
+    private String entityType; // "event", "registration" or "announcement"
+
+    // Event/announcement id, or "eventId:email" for a registration
+    @Column(name = "entity_key", nullable = false)
+    private String entityKey;
+
+    @Column(nullable = false)
+    private String action; // created, published, deleted, archived, registered, unregistered
+
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    // The database's clock, so entries from different instances compare correctly
+    @CreationTimestamp(source = SourceType.DB)
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+}
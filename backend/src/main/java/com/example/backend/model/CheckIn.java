@@ -0,0 +1,33 @@
+package com.example.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * A registrant who was let in at the gate. Each person can be checked in to an event only once,
+ * which is what makes repeated uploads of the same scanner batch harmless.
+ */
+@Entity
+@Data
+@Table(name = "event_check_ins",
+       uniqueConstraints = @UniqueConstraint(name = "uk_check_in_event_user", columnNames = {"event_id", "user_email"}))
+public class CheckIn {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(name = "user_email", nullable = false)
+    private String userEmail;
+
+    // When the scanner saw the person (may be well before the upload on bad Wi-Fi)
+    private LocalDateTime checkedInAt;
+
+    // When the server received the record
+    private LocalDateTime receivedAt;
+
+    private String scannerId;
+}
@@ -0,0 +1,15 @@
+package com.example.backend.model;
+
+import lombok.Data;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data // Outcome of one uploaded batch of check-ins
+public class CheckInBatchResult {
+    private int received;
+    private int accepted;      // Newly checked in by this upload
+    private int duplicates;    // Already checked in (earlier upload, another scanner or repeated in this batch)
+    private int notRegistered; // Scanned but not on the roster
+    private int invalid;       // Missing email
+    private List<String> notRegisteredEmails = new ArrayList<>();
+}
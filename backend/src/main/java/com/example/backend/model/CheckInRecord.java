@@ -0,0 +1,6 @@
+package com.example.backend.model;
+
+import java.time.LocalDateTime;
+
+// One scan as uploaded by a gate scanner
+public record CheckInRecord(String email, LocalDateTime checkedInAt, String scannerId) {}
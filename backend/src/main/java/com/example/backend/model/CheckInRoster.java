@@ -0,0 +1,11 @@
+package com.example.backend.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Everything a scanner needs to validate entrants offline: who is registered and who is
+ * already in. The version changes whenever either list changes, and is also sent as the ETag.
+ */
+public record CheckInRoster(Long eventId, String title, String version, LocalDateTime generatedAt,
+                            List<String> registrants, List<String> checkedIn) {}
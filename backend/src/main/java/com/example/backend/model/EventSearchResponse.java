@@ -0,0 +1,12 @@
+package com.example.backend.model;
+
+import lombok.Data;
+import java.util.List;
+
+@Data // One page of event search results
+public class EventSearchResponse {
+    private List<EventSummaryDTO> results;
+    private long total; // Total number of matches across all pages
+    private int page;
+    private int size;
+}
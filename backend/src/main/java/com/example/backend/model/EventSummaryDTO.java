@@ -0,0 +1,75 @@
+package com.example.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * What the dashboards actually need to show an event. Instead of the full set of
+ * registered emails it carries the attendee count and, when a viewer is given,
+ * whether that viewer is registered.
+ */
+@Data
+public class EventSummaryDTO {
+    private Long id;
+    private String title;
+    private String description;
+    private LocalDate date;
+    private LocalTime time;
+    private String location;
+    private String category;
+    private int maxAttendees;
+    private String priority;
+    private String status;
+    private String createdBy;
+    private int attendees;
+
+    // Only the viewer's own email (if registered), so the student dashboard can keep using registeredUsers.includes(...)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<String> registeredUsers;
+
+    public static EventSummaryDTO from(Event event, String viewerEmail) {
+        EventSummaryDTO dto = new EventSummaryDTO();
+        dto.setId(event.getId());
+        dto.setTitle(event.getTitle());
+        dto.setDescription(event.getDescription());
+        dto.setDate(event.getDate());
+        dto.setTime(event.getTime());
+        dto.setLocation(event.getLocation());
+        dto.setCategory(event.getCategory());
+        dto.setMaxAttendees(event.getMaxAttendees());
+        dto.setPriority(event.getPriority());
+        dto.setStatus(event.getStatus());
+        dto.setCreatedBy(event.getCreatedBy());
+        dto.setAttendees(event.getAttendees());
+        dto.setRegisteredUsers(viewerRegistration(event.getRegisteredUsers(), viewerEmail));
+        return dto;
+    }
+
+    public static EventSummaryDTO from(ArchivedEvent event) {
+        EventSummaryDTO dto = new EventSummaryDTO();
+        dto.setId(event.getId());
+        dto.setTitle(event.getTitle());
+        dto.setDescription(event.getDescription());
+        dto.setDate(event.getDate());
+        dto.setTime(event.getTime());
+        dto.setLocation(event.getLocation());
+        dto.setCategory(event.getCategory());
+        dto.setMaxAttendees(event.getMaxAttendees());
+        dto.setPriority(event.getPriority());
+        dto.setStatus(event.getStatus());
+        dto.setCreatedBy(event.getCreatedBy());
+        dto.setAttendees(event.getAttendees());
+        return dto;
+    }
+
+    private static List<String> viewerRegistration(Set<String> registeredUsers, String viewerEmail) {
+        if (viewerEmail == null || viewerEmail.isBlank()) {
+            return null;
+        }
+        return registeredUsers.contains(viewerEmail) ? List.of(viewerEmail) : List.of();
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * The stored response to a request sent with an Idempotency-Key, for when
+ * app.idempotency.persistent is on. Lets a retry that lands on another instance, or comes
+ * after a restart, get the original response instead of running the request again.
+ */
+@Entity
+@Data
+@Table(name = "idempotency_records", indexes = @Index(name = "idx_idempotency_expires_at", columnList = "expiresAt"))
+public class IdempotencyRecord {
+    // Who sent it plus their Idempotency-Key
+    @Id
+    @Column(name = "record_key", length = 512)
+    private String key;
+
+    // SHA-256 of the method, path and body; a reused key with a different request is rejected
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    private int status;
+
+    private String contentType;
+
+    @Column(length = 1_048_576)
+    private byte[] body;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime expiresAt;
+}
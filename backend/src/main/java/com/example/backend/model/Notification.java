@@ -33,6 +33,14 @@ public class Notification {
     @Column(updatable = false)
     private LocalDateTime timestamp;
 
+    // How many same-type notifications this row stands for (see NotificationCoalescer).
+    // Nullable so the column can be added to existing tables; null means 1.
+    @Column(name = "digest_count")
+    private Integer count = 1;
+
+    // When the most recent notification merged into this row happened
+    private LocalDateTime lastOccurredAt;
+
     // Constructor to make creating new notifications easy
     public Notification(String userEmail, String title, String message, String type) {
         this.userEmail = userEmail;
@@ -40,4 +48,8 @@ public class Notification {
         this.message = message;
         this.type = type;
     }
+
+    public Integer getCount() {
+        return count == null ? 1 : count;
+    }
 }
\ No newline at end of file
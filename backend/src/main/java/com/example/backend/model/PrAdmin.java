@@ -1,9 +1,16 @@
 package com.example.backend.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE) // Kept in the second-level cache (see ehcache.xml)
+@NaturalIdCache
 @Table(name = "pr_admins")
 public class PrAdmin {
 
@@ -11,6 +18,7 @@ public class PrAdmin {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     private String name;
+    @NaturalId
     @Column(unique = true, nullable = false)
     private String email;
     @Column(nullable = false)
@@ -0,0 +1,23 @@
+package com.example.backend.model;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data // A PR admin as shown in the Main Admin Dashboard; never includes the password hash
+public class PrAdminDTO {
+    private Long id;
+    private String name;
+    private String email;
+    private String role;
+    private LocalDateTime createdAt;
+
+    public static PrAdminDTO from(PrAdmin admin) {
+        PrAdminDTO dto = new PrAdminDTO();
+        dto.setId(admin.getId());
+        dto.setName(admin.getName());
+        dto.setEmail(admin.getEmail());
+        dto.setRole(admin.getRole());
+        dto.setCreatedAt(admin.getCreatedAt());
+        return dto;
+    }
+}
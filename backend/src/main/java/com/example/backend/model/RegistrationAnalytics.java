@@ -0,0 +1,25 @@
+package com.example.backend.model;
+
+import lombok.Data;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data // Registration analytics for the PR admin dashboard (covers current, non-archived events)
+public class RegistrationAnalytics {
+    private LocalDateTime generatedAt;
+    private int events;
+    private long registrations;
+    private long capacity;
+    private double fillRatio; // registrations / capacity, over events that have a capacity
+    private List<CategoryStats> categories;
+    private List<EventStats> topEvents;
+    private List<DailyStats> daily; // Oldest day first
+
+    public record CategoryStats(String category, int events, long registrations, long capacity, double fillRatio) {}
+
+    public record EventStats(Long id, String title, String category, String status, int registrations,
+                             int capacity, double fillRatio) {}
+
+    public record DailyStats(LocalDate day, long registrations, long unregistrations) {}
+}
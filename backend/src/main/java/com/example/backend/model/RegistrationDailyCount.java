@@ -0,0 +1,30 @@
+package com.example.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDate;
+
+/**
+ * Registrations and unregistrations for one event on one day. Rows are only ever
+ * incremented (see RegistrationAnalyticsService), so history survives the event being archived.
+ */
+@Entity
+@Data
+@Table(name = "registration_daily_counts",
+       uniqueConstraints = @UniqueConstraint(name = "uk_registration_daily_event_day", columnNames = {"event_id", "date"}))
+public class RegistrationDailyCount {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    private String category;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    private int registrations;
+    private int unregistrations;
+}
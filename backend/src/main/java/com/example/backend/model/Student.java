@@ -1,9 +1,16 @@
 package com.example.backend.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE) // Kept in the second-level cache (see ehcache.xml)
+@NaturalIdCache
 @Table(name = "students") // This should match your database table name
 public class Student {
 
@@ -13,6 +20,7 @@ public class Student {
 
     private String name;
 
+    @NaturalId
     @Column(unique = true, nullable = false)
     private String email;
 
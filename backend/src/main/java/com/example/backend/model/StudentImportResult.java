@@ -0,0 +1,18 @@
+package com.example.backend.model;
+
+import lombok.Data;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data // Report for one bulk student import
+public class StudentImportResult {
+    private int received;
+    private int imported;
+    private int failed;
+    private long elapsedMillis;
+    private List<RowError> errors = new ArrayList<>();
+    private boolean errorsTruncated; // Only the first errors are listed; 'failed' has the full count
+
+    // row is the 1-based line number in the upload (the CSV header is line 1)
+    public record RowError(int row, String email, String message) {}
+}
@@ -0,0 +1,22 @@
+package com.example.backend.model;
+
+import lombok.Data;
+
+@Data // A student as shown to admins; never includes the password hash
+public class StudentSummaryDTO {
+    private Long id;
+    private String name;
+    private String email;
+    private String role;
+    private AccountStatus status;
+
+    public static StudentSummaryDTO from(Student student) {
+        StudentSummaryDTO dto = new StudentSummaryDTO();
+        dto.setId(student.getId());
+        dto.setName(student.getName());
+        dto.setEmail(student.getEmail());
+        dto.setRole(student.getRole());
+        dto.setStatus(student.getStatus());
+        return dto;
+    }
+}
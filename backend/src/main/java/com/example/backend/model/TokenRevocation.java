@@ -0,0 +1,20 @@
+package com.example.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * An account whose tokens were revoked. Kept in the database so an instance that missed the
+ * cluster message, or started after it, still rejects those tokens.
+ */
+@Entity
+@Data
+@Table(name = "token_revocations")
+public class TokenRevocation {
+    @Id
+    private String email;
+
+    // Epoch second; tokens issued at or before it are rejected
+    @Column(nullable = false)
+    private long revokedAt;
+}
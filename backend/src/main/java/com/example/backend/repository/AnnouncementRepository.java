@@ -2,8 +2,15 @@ package com.example.backend.repository;
 
 import com.example.backend.model.Announcement;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 
+@Transactional(readOnly = true)
 public interface AnnouncementRepository extends JpaRepository<Announcement, Long> {
     List<Announcement> findByStatus(String status);
+
+    // {status, count} per announcement status, for the admin summary
+    @Query("select a.status, count(a) from Announcement a group by a.status")
+    List<Object[]> countByStatus();
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.ArchivedEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
+
+@Transactional(readOnly = true)
+public interface ArchivedEventRepository extends JpaRepository<ArchivedEvent, Long> {
+
+    // Newest history first, one page at a time
+    List<ArchivedEvent> findAllByOrderByDateDescTimeDesc(Pageable pageable);
+}
@@ -0,0 +1,49 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.ChangeLogEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Transactional(readOnly = true)
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    // Every transaction with a lower id has finished, so no entry below it can still appear
+    @Query(value = "select cast(cast(pg_snapshot_xmin(pg_current_snapshot()) as text) as bigint)", nativeQuery = true)
+    long findFinishedTxHorizon();
+
+    // Entries written by transactions in (after, before), in commit-safe order
+    @Query(value = "select * from change_log where tx_id > :after and tx_id < :before order by tx_id, id limit :limit",
+            nativeQuery = true)
+    List<ChangeLogEntry> findByTxIdBetween(@Param("after") long after, @Param("before") long before, @Param("limit") int limit);
+
+    // The rest of a transaction's entries, so a page never ends halfway through one
+    List<ChangeLogEntry> findByTxIdAndIdGreaterThanOrderById(Long txId, Long id);
+
+    @Query(value = "select * from change_log order by tx_id, id limit 1", nativeQuery = true)
+    Optional<ChangeLogEntry> findOldest();
+
+    @Query("select max(c.txId) from ChangeLogEntry c where c.occurredAt < :before")
+    Long findLatestTxIdBefore(@Param("before") LocalDateTime before);
+
+    @Modifying
+    @Transactional
+    @Query("delete from ChangeLogEntry c where c.txId < :txId")
+    int deleteBeforeTx(@Param("txId") Long txId);
+
+    // Entries that a newer entry for the same entity makes redundant; syncing clients only need the latest state.
+    // The oldest transaction's entries are kept, since they tell cursors how far back the log reaches.
+    @Modifying
+    @Transactional
+    @Query("delete from ChangeLogEntry c where c.occurredAt < :before and exists "
+            + "(select 1 from ChangeLogEntry n where n.entityType = c.entityType and n.entityKey = c.entityKey "
+            + "and (n.txId > c.txId or (n.txId = c.txId and n.id > c.id))) "
+            + "and c.txId > (select min(o.txId) from ChangeLogEntry o)")
+    int deleteSuperseded(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,17 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.CheckIn;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Transactional(readOnly = true)
+public interface CheckInRepository extends JpaRepository<CheckIn, Long> {
+
+    // Just the emails, so building a roster doesn't load whole rows
+    @Query("select c.userEmail from CheckIn c where c.eventId = :eventId")
+    List<String> findUserEmailsByEventId(@Param("eventId") Long eventId);
+}
@@ -1,9 +1,36 @@
 package com.example.backend.repository;
 
 import com.example.backend.model.Event;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
+import java.util.Optional;
 
+@Transactional(readOnly = true)
 public interface EventRepository extends JpaRepository<Event, Long> {
     List<Event> findByStatus(String status);
-}
\ No newline at end of file
+
+    // The event with its row locked until the caller's read-write transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from Event e where e.id = :id")
+    Optional<Event> findByIdForUpdate(@Param("id") Long id);
+
+    // {status, count} per event status, for the admin summary
+    @Query("select e.status, count(e) from Event e group by e.status")
+    List<Object[]> countByStatus();
+
+    // Ids of events that are already over, oldest first. Events without a time count as over once their day has passed.
+    @Query("select e.id from Event e where e.date < :today or (e.date = :today and e.time < :now) order by e.date, e.id")
+    List<Long> findFinishedEventIds(@Param("today") LocalDate today, @Param("now") LocalTime now, Pageable pageable);
+
+    // id, title, category, status, maxAttendees and registration count of every event, without loading the registrations
+    @Query("select e.id, e.title, e.category, e.status, e.maxAttendees, size(e.registeredUsers) from Event e")
+    List<Object[]> findRegistrationStats();
+}
@@ -2,13 +2,24 @@ package com.example.backend.repository;
 
 import com.example.backend.model.Notification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+@Transactional(readOnly = true)
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
-    // Finds all notifications for a specific user, ordered by newest first
-    List<Notification> findByUserEmailOrderByTimestampDesc(String userEmail);
+    // Finds all notifications for a specific user, ordered by newest first. A digest row counts
+    // as new as the latest notification merged into it, not as the first one.
+    @Query("select n from Notification n where n.userEmail = :userEmail order by coalesce(n.lastOccurredAt, n.timestamp) desc")
+    List<Notification> findByUserEmailNewestFirst(@Param("userEmail") String userEmail);
 
     // Finds all unread notifications for a user
     List<Notification> findByUserEmailAndIsReadFalse(String userEmail);
+
+    // Recent unread notifications for a set of users; new ones of the same kind are merged into these
+    List<Notification> findByUserEmailInAndIsReadFalseAndTimestampAfter(Collection<String> userEmails, LocalDateTime after);
 }
\ No newline at end of file
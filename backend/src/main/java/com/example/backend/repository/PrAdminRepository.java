@@ -1,18 +1,30 @@
 package com.example.backend.repository;
 
 import com.example.backend.model.PrAdmin;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
+@Transactional(readOnly = true)
 public interface PrAdminRepository extends JpaRepository<PrAdmin, Long> {
 
     /**
      * Finds a PR Admin by their email address.
      * This will be used for the PR Admin login functionality.
      * Spring Data JPA automatically creates the query for this method.
+     * The result is kept in the query cache until the pr_admins table changes.
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<PrAdmin> findByEmail(String email);
+
+    @Query("select p.email from PrAdmin p")
+    List<String> findAllEmails();
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.RegistrationDailyCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Transactional(readOnly = true)
+public interface RegistrationDailyCountRepository extends JpaRepository<RegistrationDailyCount, Long> {
+    // {date, registrations, unregistrations} summed over all events, per day from the given date on
+    @Query("select c.date, sum(c.registrations), sum(c.unregistrations) from RegistrationDailyCount c "
+            + "where c.date >= :from group by c.date")
+    List<Object[]> sumByDateFrom(@Param("from") LocalDate from);
+
+    List<RegistrationDailyCount> findByEventIdOrderByDate(Long eventId);
+}
@@ -3,11 +3,13 @@ package com.example.backend.repository;
 import com.example.backend.model.StudentRegistration;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
+@Transactional(readOnly = true)
 public interface StudentRegistrationRepository extends JpaRepository<StudentRegistration, Long> {
 
     /**
@@ -2,19 +2,35 @@ package com.example.backend.repository;
 
 import com.example.backend.model.AccountStatus;
 import com.example.backend.model.Student;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
+@Transactional(readOnly = true)
 public interface StudentRepository extends JpaRepository<Student, Long> {
 
+    // Cached in the query cache; Hibernate drops the cached result whenever the students table changes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Student> findByEmail(String email);
     
     // --- ADD THIS LINE ---
     // This declares the method so your controller can use it.
     // Spring Data JPA will automatically create the implementation.
     List<Student> findByStatus(AccountStatus status);
+
+    // Just the emails, for checking a bulk import for duplicates in memory
+    @Query("select s.email from Student s")
+    List<String> findAllEmails();
+
+    // {status, count} per account status, for the admin summary
+    @Query("select s.status, count(s) from Student s group by s.status")
+    List<Object[]> countByStatus();
 }
\ No newline at end of file
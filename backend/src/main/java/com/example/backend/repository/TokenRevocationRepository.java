@@ -0,0 +1,29 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.TokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Transactional(readOnly = true)
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, String> {
+
+    // Keeps the later of the stored and the new revocation, so instances racing on one account can't move it back
+    @Modifying
+    @Transactional
+    @Query(value = "insert into token_revocations (email, revoked_at) values (:email, :revokedAt) "
+            + "on conflict (email) do update set revoked_at = greatest(token_revocations.revoked_at, excluded.revoked_at)",
+            nativeQuery = true)
+    void upsert(@Param("email") String email, @Param("revokedAt") long revokedAt);
+
+    List<TokenRevocation> findByRevokedAtGreaterThanEqual(long revokedAt);
+
+    @Modifying
+    @Transactional
+    @Query("delete from TokenRevocation r where r.revokedAt < :cutoff")
+    int deleteRevokedBefore(@Param("cutoff") long cutoff);
+}
@@ -0,0 +1,73 @@
+package com.example.backend.service;
+
+import com.example.backend.model.PrAdmin;
+import com.example.backend.model.Student;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Explicit eviction for the Student/PrAdmin second-level cache.
+ * Hibernate already invalidates cached query results when it writes to a table itself;
+ * this is for account changes that must be visible immediately (approve, reject, delete)
+ * and for writes that bypass Hibernate.
+ */
+@Service
+@RequiredArgsConstructor
+public class AccountCacheService {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    // Every instance has its own cache, so evictions are passed on to the others
+    private final ClusterCoordinator clusterCoordinator;
+
+    // Registrant lists show the student's name, and only registrations of existing students
+    private final SingleFlight singleFlight;
+
+    @PostConstruct
+    void subscribeToOtherInstances() {
+        clusterCoordinator.subscribe("accounts", keys -> keys.forEach(this::evictLocally), () -> cache().evictAllRegions());
+    }
+
+    public void evictStudent(Long id) {
+        evictLocally("student:" + id);
+        clusterCoordinator.publish("accounts", "student:" + id);
+    }
+
+    public void evictPrAdmin(Long id) {
+        evictLocally("pr-admin:" + id);
+        clusterCoordinator.publish("accounts", "pr-admin:" + id);
+    }
+
+    /**
+     * Drops every cached student and cached email lookup, e.g. after a bulk change.
+     */
+    public void evictAllStudents() {
+        evictLocally("student:*");
+        clusterCoordinator.publish("accounts", "student:*");
+    }
+
+    // key is "student:<id>", "pr-admin:<id>" or "student:*"
+    private void evictLocally(String key) {
+        Cache cache = cache();
+        Class<?> type = key.startsWith("student:") ? Student.class : PrAdmin.class;
+        if (type == Student.class) {
+            singleFlight.forgetAll(EventService.EVENT_REGISTRANTS);
+        }
+        String id = key.substring(key.indexOf(':') + 1);
+        if (id.equals("*")) {
+            cache.evictEntityData(type);
+        } else {
+            cache.evictEntityData(type, Long.valueOf(id));
+        }
+        cache.evictNaturalIdData(type);
+        cache.evictDefaultQueryRegion();
+    }
+
+    private Cache cache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+}
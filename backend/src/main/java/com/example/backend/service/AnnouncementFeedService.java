@@ -0,0 +1,196 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Announcement;
+import com.example.backend.repository.AnnouncementRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serves published announcements per audience.
+ *
+ * An announcement's targetAudience is a comma separated list of segments: "all", a role
+ * ("students", "faculty", "role:pr_admin"), a department ("dept:CSE") or a year ("year:2").
+ * One feed per segment is precomputed whenever an announcement is published or deleted.
+ * A viewer's feed (the union of the segments they belong to) is merged once and then
+ * cached until the next publish/delete, so reading it is a single map lookup.
+ *
+ * A viewer with no role, department or year only gets the announcements aimed at "all".
+ * The viewer cache is keyed by the segments some announcement actually targets, so made-up
+ * values share an entry and it never grows past the combinations of real audiences.
+ */
+@Service
+@RequiredArgsConstructor
+public class AnnouncementFeedService {
+
+    static final String ALL = "all";
+
+    // Newest first, the same order the dashboards show them in
+    private static final Comparator<Announcement> NEWEST_FIRST = Comparator
+            .comparing(Announcement::getPublishedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Announcement::getId, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    private final AnnouncementRepository announcementRepository;
+    private final ClusterCoordinator clusterCoordinator;
+    private final PrimaryReads primaryReads;
+
+    // Replaced as a whole on every change, so a merge from old segment feeds can't land in the new cache
+    private volatile Feeds feeds = new Feeds(Map.of());
+
+    /**
+     * @param segments segment -> published announcements for it
+     * @param viewers  viewer key (e.g. "all|role:student|dept:cse") -> merged feed
+     */
+    private record Feeds(Map<String, List<Announcement>> segments, Map<String, List<Announcement>> viewers) {
+        Feeds(Map<String, List<Announcement>> segments) {
+            this(segments, new ConcurrentHashMap<>());
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        rebuild();
+        clusterCoordinator.subscribe("announcements", this::reload, this::rebuild);
+    }
+
+    public synchronized void rebuild() {
+        Map<String, List<Announcement>> feeds = new HashMap<>();
+        for (Announcement announcement : announcementRepository.findByStatus("published")) {
+            for (String segment : audienceSegments(announcement.getTargetAudience())) {
+                feeds.computeIfAbsent(segment, k -> new ArrayList<>()).add(announcement);
+            }
+        }
+        feeds.replaceAll((segment, list) -> sorted(list));
+        this.feeds = new Feeds(feeds);
+    }
+
+    /**
+     * Adds a newly published announcement to the feeds of its audience segments.
+     */
+    public void onPublished(Announcement announcement) {
+        applyPublished(announcement);
+        clusterCoordinator.publish("announcements", announcement.getId());
+    }
+
+    public void onDeleted(Long announcementId) {
+        applyDeleted(announcementId);
+        clusterCoordinator.publish("announcements", announcementId);
+    }
+
+    // Another instance published or deleted these announcements
+    private void reload(Set<String> keys) {
+        for (String key : keys) {
+            Long id = Long.valueOf(key);
+            Optional<Announcement> announcement = primaryReads.run(() -> announcementRepository.findById(id));
+            if (announcement.isPresent() && "published".equals(announcement.get().getStatus())) {
+                applyPublished(announcement.get());
+            } else {
+                applyDeleted(id);
+            }
+        }
+    }
+
+    private synchronized void applyPublished(Announcement announcement) {
+        Map<String, List<Announcement>> feeds = new HashMap<>(withoutAnnouncement(announcement.getId()));
+        for (String segment : audienceSegments(announcement.getTargetAudience())) {
+            List<Announcement> list = new ArrayList<>(feeds.getOrDefault(segment, List.of()));
+            list.add(announcement);
+            feeds.put(segment, sorted(list));
+        }
+        this.feeds = new Feeds(feeds);
+    }
+
+    private synchronized void applyDeleted(Long announcementId) {
+        feeds = new Feeds(withoutAnnouncement(announcementId));
+    }
+
+    /**
+     * The published announcements a viewer should see. Any of the parameters may be null;
+     * without any, only announcements for "all" are returned.
+     */
+    public List<Announcement> getFeed(String role, String department, String year) {
+        Feeds current = feeds;
+        List<String> segments = viewerSegments(role, department, year).stream()
+                .filter(current.segments()::containsKey)
+                .toList();
+        return current.viewers().computeIfAbsent(String.join("|", segments),
+                k -> sorted(merge(segments.stream().map(current.segments()::get).toList())));
+    }
+
+    // --- Helpers ---
+
+    private Map<String, List<Announcement>> withoutAnnouncement(Long id) {
+        Map<String, List<Announcement>> feeds = new HashMap<>();
+        this.feeds.segments().forEach((segment, list) -> {
+            List<Announcement> remaining = list.stream().filter(a -> !Objects.equals(a.getId(), id)).toList();
+            if (!remaining.isEmpty()) {
+                feeds.put(segment, remaining);
+            }
+        });
+        return feeds;
+    }
+
+    private static List<Announcement> merge(Collection<List<Announcement>> lists) {
+        // An announcement aimed at several segments must only show up once
+        Map<Long, Announcement> unique = new LinkedHashMap<>();
+        lists.forEach(list -> list.forEach(a -> unique.putIfAbsent(a.getId(), a)));
+        return new ArrayList<>(unique.values());
+    }
+
+    private static List<Announcement> sorted(List<Announcement> list) {
+        List<Announcement> copy = new ArrayList<>(list);
+        copy.sort(NEWEST_FIRST);
+        return List.copyOf(copy);
+    }
+
+    static List<String> viewerSegments(String role, String department, String year) {
+        List<String> segments = new ArrayList<>();
+        segments.add(ALL);
+        if (role != null && !role.isBlank()) {
+            segments.add("role:" + normalizeRole(role));
+        }
+        if (department != null && !department.isBlank()) {
+            segments.add("dept:" + department.trim().toLowerCase(Locale.ROOT));
+        }
+        if (year != null && !year.isBlank()) {
+            segments.add("year:" + year.trim().toLowerCase(Locale.ROOT));
+        }
+        return segments;
+    }
+
+    static Set<String> audienceSegments(String targetAudience) {
+        Set<String> segments = new LinkedHashSet<>();
+        if (targetAudience != null) {
+            for (String part : targetAudience.split(",")) {
+                String value = part.trim().toLowerCase(Locale.ROOT);
+                if (value.isEmpty()) {
+                    continue;
+                }
+                if (value.equals(ALL) || value.startsWith("dept:") || value.startsWith("year:")) {
+                    segments.add(value);
+                } else {
+                    segments.add("role:" + normalizeRole(value.startsWith("role:") ? value.substring(5) : value));
+                }
+            }
+        }
+        // Announcements created before targeting existed have no audience: show them to everyone
+        if (segments.isEmpty()) {
+            segments.add(ALL);
+        }
+        return segments;
+    }
+
+    // The create form uses plural names ("students", "faculty") while users carry singular roles ("student")
+    private static String normalizeRole(String role) {
+        String value = role.trim().toLowerCase(Locale.ROOT).replace('-', '_');
+        return switch (value) {
+            case "students" -> "student";
+            case "pr_admins" -> "pr_admin";
+            case "admins" -> "admin";
+            default -> value;
+        };
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.backend.service;
+
+import com.example.backend.model.ChangeFeedResponse;
+import com.example.backend.model.ChangeFeedResponse.Change;
+import com.example.backend.model.ChangeLogEntry;
+import com.example.backend.repository.ChangeLogRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only change log for events, registrations and announcements, so dashboards can
+ * ask "what changed since X" instead of reloading every list.
+ *
+ * Entries are written in the transaction that makes the change, so the two commit or roll
+ * back together. The cursor is the id of the writing transaction rather than the entry id:
+ * transactions can commit in any order, so the feed only hands out entries of transactions
+ * older than every one still running (the snapshot's xmin). Once the cursor has passed a
+ * transaction id, nothing can still appear below it, and appends need no lock.
+ *
+ * How far back the log reaches is read from the table itself (its oldest transaction), so
+ * every instance agrees on it however recently it started or compacted.
+ */
+@Service
+public class ChangeLogService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeLogService.class);
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final ChangeLogRepository changeLogRepository;
+    private final ObjectMapper objectMapper;
+    private final Duration retention;
+    private final Duration compactAfter;
+
+    public ChangeLogService(ChangeLogRepository changeLogRepository,
+                            ObjectMapper objectMapper,
+                            @Value("${app.changes.retention:P7D}") Duration retention,
+                            @Value("${app.changes.compact-after:PT1H}") Duration compactAfter) {
+        this.changeLogRepository = changeLogRepository;
+        this.objectMapper = objectMapper;
+        this.retention = retention;
+        this.compactAfter = compactAfter;
+    }
+
+    /**
+     * Appends a change. Call it from the transaction that saves the change itself, so a
+     * failure here rolls the change back too.
+     * @param payload The entity's new state (serialized to JSON), or null.
+     */
+    @Transactional
+    public void record(String entityType, Object entityKey, String action, Object payload) {
+        ChangeLogEntry entry = new ChangeLogEntry();
+        entry.setEntityType(entityType);
+        entry.setEntityKey(String.valueOf(entityKey));
+        entry.setAction(action);
+        try {
+            entry.setPayload(payload == null ? null : objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + entityType + " " + entityKey, e);
+        }
+        changeLogRepository.save(entry);
+    }
+
+    /**
+     * Changes after the given cursor, oldest first. Without a cursor nothing is returned,
+     * only the cursor to start syncing from (for a client that just loaded the full lists).
+     */
+    public ChangeFeedResponse getChanges(Long since, int limit) {
+        ChangeFeedResponse response = new ChangeFeedResponse();
+        // Read first: entries below it are all committed (or rolled back) before the page is read
+        long horizon = changeLogRepository.findFinishedTxHorizon();
+
+        if (since == null) {
+            response.setChanges(List.of());
+            response.setCursor(horizon - 1);
+            return response;
+        }
+
+        int size = Math.min(Math.max(limit, 1), MAX_LIMIT);
+        List<ChangeLogEntry> entries = new ArrayList<>(changeLogRepository.findByTxIdBetween(since, horizon, size));
+        // Checked after reading, so retention that ran in between is noticed rather than served as a gap
+        if (isBeforeRetainedLog(since)) {
+            response.setChanges(List.of());
+            response.setCursor(since);
+            response.setResetRequired(true);
+            return response;
+        }
+        if (entries.size() == size) {
+            // The cursor is a transaction id, so finish the last transaction before handing it out
+            ChangeLogEntry last = entries.get(entries.size() - 1);
+            entries.addAll(changeLogRepository.findByTxIdAndIdGreaterThanOrderById(last.getTxId(), last.getId()));
+            response.setCursor(last.getTxId());
+            response.setHasMore(true);
+        } else {
+            response.setCursor(Math.max(since, horizon - 1));
+        }
+        response.setChanges(entries.stream().map(this::toChange).toList());
+        return response;
+    }
+
+    // Compaction always keeps the newest expired transaction, so once anything has been removed the
+    // oldest entry is past retention. A cursor from before it may have missed what was removed.
+    private boolean isBeforeRetainedLog(long since) {
+        return changeLogRepository.findOldest()
+                .filter(oldest -> since < oldest.getTxId())
+                .filter(oldest -> oldest.getOccurredAt().isBefore(LocalDateTime.now().minus(retention)))
+                .isPresent();
+    }
+
+    /**
+     * Drops entries past the retention period, and older entries that a later entry for the
+     * same entity supersedes (a client catching up only needs the latest state). The newest
+     * expired transaction and the oldest one are never removed, see isBeforeRetainedLog.
+     */
+    @Scheduled(fixedDelayString = "${app.changes.compaction-interval:PT10M}")
+    public void compact() {
+        LocalDateTime now = LocalDateTime.now();
+        Long expiredUpTo = changeLogRepository.findLatestTxIdBefore(now.minus(retention));
+        int expired = expiredUpTo == null ? 0 : changeLogRepository.deleteBeforeTx(expiredUpTo);
+        int superseded = changeLogRepository.deleteSuperseded(now.minus(compactAfter));
+        if (expired + superseded > 0) {
+            log.info("Compacted change log: {} expired, {} superseded entries removed", expired, superseded);
+        }
+    }
+
+    private Change toChange(ChangeLogEntry entry) {
+        JsonNode payload = null;
+        if (entry.getPayload() != null) {
+            try {
+                payload = objectMapper.readTree(entry.getPayload());
+            } catch (JsonProcessingException e) {
+                log.warn("Unreadable payload in change log entry {}", entry.getId(), e);
+            }
+        }
+        return new Change(entry.getId(), entry.getEntityType(), entry.getEntityKey(), entry.getAction(),
+                entry.getOccurredAt(), payload);
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.backend.service;
+
+import com.example.backend.model.CheckInBatchResult;
+import com.example.backend.model.CheckInRecord;
+import com.example.backend.model.CheckInRoster;
+import com.example.backend.model.Event;
+import com.example.backend.repository.CheckInRepository;
+import com.example.backend.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Gate check-in: roster snapshots for (offline) scanners and bulk upload of scans.
+ */
+@Service
+@RequiredArgsConstructor
+public class CheckInService {
+
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    // Postgres skips rows that are already checked in instead of failing the whole batch, and
+    // RETURNING tells which went in (batch update counts are SUCCESS_NO_INFO with rewritten batches)
+    private static final String INSERT_SQL =
+            "INSERT INTO event_check_ins (event_id, user_email, checked_in_at, received_at, scanner_id) "
+            + "SELECT ?, user_email, checked_in_at, ?, scanner_id "
+            + "FROM unnest(?::text[], ?::timestamp[], ?::text[]) AS r(user_email, checked_in_at, scanner_id) "
+            + "ON CONFLICT (event_id, user_email) DO NOTHING RETURNING user_email";
+
+    private final EventRepository eventRepository;
+    private final CheckInRepository checkInRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional(readOnly = true)
+    public Optional<CheckInRoster> getRoster(Long eventId) {
+        return eventRepository.findById(eventId).map(event -> {
+            List<String> registrants = new ArrayList<>(event.getRegisteredUsers());
+            List<String> checkedIn = checkInRepository.findUserEmailsByEventId(eventId);
+            Collections.sort(registrants);
+            Collections.sort(checkedIn);
+            return new CheckInRoster(eventId, event.getTitle(), version(registrants, checkedIn),
+                    LocalDateTime.now(), registrants, checkedIn);
+        });
+    }
+
+    /**
+     * Records a batch of scans. Safe to upload the same batch again: people who are already
+     * checked in are counted as duplicates and nothing is written twice.
+     */
+    @Transactional
+    public Optional<CheckInBatchResult> recordBatch(Long eventId, List<CheckInRecord> records) {
+        Optional<Event> optionalEvent = eventRepository.findById(eventId);
+        if (optionalEvent.isEmpty()) {
+            return Optional.empty();
+        }
+        Set<String> registrants = optionalEvent.get().getRegisteredUsers();
+        CheckInBatchResult result = new CheckInBatchResult();
+        result.setReceived(records.size());
+
+        // Keep the earliest scan per person; a scanner may have seen the same badge twice
+        Map<String, CheckInRecord> unique = new LinkedHashMap<>();
+        for (CheckInRecord record : records) {
+            if (record == null || record.email() == null || record.email().isBlank()) {
+                result.setInvalid(result.getInvalid() + 1);
+                continue;
+            }
+            String email = record.email().trim();
+            if (!registrants.contains(email)) {
+                result.setNotRegistered(result.getNotRegistered() + 1);
+                result.getNotRegisteredEmails().add(email);
+                continue;
+            }
+            unique.merge(email, record, (a, b) -> earliest(a, b));
+        }
+
+        Set<String> alreadyIn = new HashSet<>(checkInRepository.findUserEmailsByEventId(eventId));
+        LocalDateTime receivedAt = LocalDateTime.now();
+        List<Map.Entry<String, CheckInRecord>> rows = new ArrayList<>();
+        for (Map.Entry<String, CheckInRecord> entry : unique.entrySet()) {
+            if (!alreadyIn.contains(entry.getKey())) {
+                rows.add(entry);
+            }
+        }
+
+        int accepted = 0;
+        for (int from = 0; from < rows.size(); from += INSERT_BATCH_SIZE) {
+            accepted += insert(eventId, rows.subList(from, Math.min(from + INSERT_BATCH_SIZE, rows.size())), receivedAt);
+        }
+        result.setAccepted(accepted);
+        result.setDuplicates(records.size() - result.getInvalid() - result.getNotRegistered() - accepted);
+        return Optional.of(result);
+    }
+
+    // One INSERT for the whole chunk, the rows passed as arrays; returns how many were new
+    private int insert(Long eventId, List<Map.Entry<String, CheckInRecord>> rows, LocalDateTime receivedAt) {
+        Object[] emails = new Object[rows.size()];
+        Object[] checkedInAt = new Object[rows.size()];
+        Object[] scannerIds = new Object[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            CheckInRecord record = rows.get(i).getValue();
+            emails[i] = rows.get(i).getKey();
+            checkedInAt[i] = Timestamp.valueOf(record.checkedInAt() != null ? record.checkedInAt() : receivedAt);
+            scannerIds[i] = record.scannerId();
+        }
+        return jdbcTemplate.query(con -> {
+            PreparedStatement statement = con.prepareStatement(INSERT_SQL);
+            statement.setLong(1, eventId);
+            statement.setTimestamp(2, Timestamp.valueOf(receivedAt));
+            statement.setArray(3, con.createArrayOf("text", emails));
+            statement.setArray(4, con.createArrayOf("timestamp", checkedInAt));
+            statement.setArray(5, con.createArrayOf("text", scannerIds));
+            return statement;
+        }, (rs, rowNum) -> rs.getString(1)).size();
+    }
+
+    private static CheckInRecord earliest(CheckInRecord a, CheckInRecord b) {
+        if (a.checkedInAt() == null) {
+            return b;
+        }
+        return b.checkedInAt() != null && b.checkedInAt().isBefore(a.checkedInAt()) ? b : a;
+    }
+
+    private static String version(List<String> registrants, List<String> checkedIn) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            registrants.forEach(email -> digest.update((email + "\n").getBytes(StandardCharsets.UTF_8)));
+            digest.update((byte) 0);
+            checkedIn.forEach(email -> digest.update((email + "\n").getBytes(StandardCharsets.UTF_8)));
+            return HexFormat.of().formatHex(digest.digest(), 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
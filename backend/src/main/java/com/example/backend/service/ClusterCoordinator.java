@@ -0,0 +1,338 @@
+package com.example.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.sql.*;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Tells the other backend instances about changes to state they keep in memory (search
+ * index, announcement feeds, analytics, token revocations, account cache), using Postgres
+ * LISTEN/NOTIFY so no extra infrastructure is needed.
+ *
+ * Messages carry a topic and the keys that changed (e.g. "events" and event ids); receivers
+ * reload those keys from the database. Outgoing keys are collected for app.cluster.debounce
+ * and sent as one message per topic, so a burst of registrations is one NOTIFY, not hundreds.
+ *
+ * NOTIFY is fire-and-forget: anything sent while a node's listener connection was down is
+ * lost to it. So after reconnecting, every subscriber is asked to resync from the database.
+ * On a database other than PostgreSQL (or with app.cluster.enabled=false) this does nothing.
+ */
+@Service
+public class ClusterCoordinator {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterCoordinator.class);
+
+    // Past this many keys it's cheaper to tell the other nodes to reload the whole topic
+    private static final int MAX_KEYS = 200;
+    // NOTIFY payloads must be shorter than 8000 bytes
+    private static final int MAX_PAYLOAD = 7000;
+    private static final Duration KEEPALIVE = Duration.ofSeconds(30);
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    private record Subscription(Consumer<Set<String>> onChange, Runnable onResync) {}
+
+    // keys == null means "everything in this topic changed"
+    private record Message(String node, String topic, Set<String> keys) {}
+
+    private final ObjectMapper objectMapper;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final String channel;
+    private final Duration debounce;
+    private final boolean enabled;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<String, List<Subscription>> subscriptions = new ConcurrentHashMap<>();
+
+    // Waiting to be sent; guarded by synchronized (outgoing)
+    private final Map<String, Set<String>> outgoing = new HashMap<>();
+    private final Set<String> outgoingEverything = new HashSet<>();
+
+    // Only used by the listener thread once it has started
+    private Connection connection;
+    private PGConnection pgConnection;
+    private long lastKeepAlive;
+    private boolean resyncNeeded;
+
+    private volatile boolean running;
+    private Thread listener;
+
+    public ClusterCoordinator(ObjectMapper objectMapper,
+                              @Value("${spring.datasource.url}") String url,
+                              @Value("${spring.datasource.username:}") String username,
+                              @Value("${spring.datasource.password:}") String password,
+                              @Value("${app.cluster.enabled:true}") boolean enabled,
+                              @Value("${app.cluster.channel:campus_connect_cluster}") String channel,
+                              @Value("${app.cluster.debounce:PT0.2S}") Duration debounce) {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("app.cluster.channel must be a plain lower-case identifier: " + channel);
+        }
+        // The listener waits for notifications this long, and for PgJDBC a wait of 0 ms means forever
+        if (debounce.toMillis() < 1 || debounce.toMillis() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("app.cluster.debounce must be between 1ms and " + Integer.MAX_VALUE + "ms: " + debounce);
+        }
+        this.objectMapper = objectMapper;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.channel = channel;
+        this.debounce = debounce;
+        this.enabled = enabled && url.startsWith("jdbc:postgresql:");
+    }
+
+    /**
+     * Listens before any other bean loads its in-memory state, so no change can slip
+     * between loading and listening.
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("Cluster coordination is off (needs PostgreSQL and app.cluster.enabled=true)");
+            return;
+        }
+        try {
+            connect();
+        } catch (SQLException e) {
+            log.warn("Could not start listening on channel {}; will keep retrying", channel, e);
+            closeConnection();
+            resyncNeeded = true;
+        }
+        running = true;
+        listener = new Thread(this::listen, "cluster-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (listener != null) {
+            listener.join(2000);
+        }
+    }
+
+    /**
+     * @param onChange Called (on the listener thread) with the keys another node changed.
+     * @param onResync Called when everything in the topic may have changed, e.g. after a reconnect.
+     */
+    public void subscribe(String topic, Consumer<Set<String>> onChange, Runnable onResync) {
+        subscriptions.computeIfAbsent(topic, t -> new CopyOnWriteArrayList<>()).add(new Subscription(onChange, onResync));
+    }
+
+    /**
+     * Queues a change for the other nodes. Call it after the change has been committed.
+     */
+    public void publish(String topic, Object key) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (outgoing) {
+            if (outgoingEverything.contains(topic)) {
+                return;
+            }
+            Set<String> keys = outgoing.computeIfAbsent(topic, t -> new LinkedHashSet<>());
+            keys.add(String.valueOf(key));
+            if (keys.size() > MAX_KEYS) {
+                outgoing.remove(topic);
+                outgoingEverything.add(topic);
+            }
+        }
+    }
+
+    /**
+     * Tells the other nodes to reload everything in the topic.
+     */
+    public void publishEverything(String topic) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (outgoing) {
+            outgoing.remove(topic);
+            outgoingEverything.add(topic);
+        }
+    }
+
+    // --- Listener thread ---
+
+    private void listen() {
+        long backoff = 1000;
+        while (running) {
+            try {
+                if (connection == null) {
+                    connect();
+                    backoff = 1000;
+                    if (resyncNeeded) {
+                        resyncNeeded = false;
+                        log.info("Reconnected to channel {}; resyncing in-memory state", channel);
+                        subscriptions.values().forEach(list -> list.forEach(this::resync));
+                    }
+                }
+                // Doubles as the debounce: outgoing keys pile up while we wait here
+                PGNotification[] notifications = pgConnection.getNotifications((int) debounce.toMillis());
+                if (notifications != null) {
+                    for (PGNotification notification : notifications) {
+                        receive(notification.getParameter());
+                    }
+                }
+                send();
+                keepAlive();
+            } catch (SQLException e) {
+                if (!running) {
+                    break;
+                }
+                log.warn("Lost the cluster listener connection; reconnecting in {} ms", backoff, e);
+                closeConnection();
+                resyncNeeded = true;
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+        // Don't leave the last debounce window's changes behind on shutdown
+        if (connection != null) {
+            try {
+                send();
+            } catch (SQLException e) {
+                log.warn("Could not send the last cluster messages", e);
+            }
+        }
+        closeConnection();
+    }
+
+    private void connect() throws SQLException {
+        // Not from the pool: LISTEN belongs to the session, and this connection is held for good
+        Properties properties = new Properties();
+        properties.setProperty("user", username);
+        properties.setProperty("password", password);
+        properties.setProperty("ApplicationName", "cluster-listener"); // Easy to spot in pg_stat_activity
+        connection = DriverManager.getConnection(url, properties);
+        connection.setAutoCommit(true);
+        pgConnection = connection.unwrap(PGConnection.class);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + channel);
+        }
+        lastKeepAlive = System.nanoTime();
+    }
+
+    private void send() throws SQLException {
+        Map<String, Set<String>> batch;
+        Set<String> everything;
+        synchronized (outgoing) {
+            if (outgoing.isEmpty() && outgoingEverything.isEmpty()) {
+                return;
+            }
+            batch = new HashMap<>(outgoing);
+            everything = new HashSet<>(outgoingEverything);
+            outgoing.clear();
+            outgoingEverything.clear();
+        }
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            for (String topic : everything) {
+                notify(statement, new Message(nodeId, topic, null));
+            }
+            for (Map.Entry<String, Set<String>> entry : batch.entrySet()) {
+                notify(statement, new Message(nodeId, entry.getKey(), entry.getValue()));
+            }
+        } catch (SQLException e) {
+            // Put them back for after the reconnect; receivers don't mind getting a key twice
+            synchronized (outgoing) {
+                outgoingEverything.addAll(everything);
+                batch.forEach((topic, keys) -> {
+                    if (!outgoingEverything.contains(topic)) {
+                        outgoing.computeIfAbsent(topic, t -> new LinkedHashSet<>()).addAll(keys);
+                    }
+                });
+            }
+            throw e;
+        }
+    }
+
+    private void notify(PreparedStatement statement, Message message) throws SQLException {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(message);
+            if (payload.length() > MAX_PAYLOAD) {
+                payload = objectMapper.writeValueAsString(new Message(nodeId, message.topic(), null));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        statement.setString(1, channel);
+        statement.setString(2, payload);
+        statement.execute();
+    }
+
+    private void receive(String payload) {
+        Message message;
+        try {
+            message = objectMapper.readValue(payload, Message.class);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable cluster message: {}", payload);
+            return;
+        }
+        if (nodeId.equals(message.node())) {
+            return; // Our own message; we already applied the change
+        }
+        for (Subscription subscription : subscriptions.getOrDefault(message.topic(), List.of())) {
+            if (message.keys() == null) {
+                resync(subscription);
+                continue;
+            }
+            try {
+                subscription.onChange().accept(message.keys());
+            } catch (RuntimeException e) {
+                log.error("Could not apply cluster message for topic {}", message.topic(), e);
+            }
+        }
+    }
+
+    private void resync(Subscription subscription) {
+        try {
+            subscription.onResync().run();
+        } catch (RuntimeException e) {
+            log.error("Resync after a cluster message failed", e);
+        }
+    }
+
+    // A quiet connection that died (e.g. a failover) would otherwise go unnoticed
+    private void keepAlive() throws SQLException {
+        if (System.nanoTime() - lastKeepAlive < KEEPALIVE.toNanos()) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SELECT 1");
+        }
+        lastKeepAlive = System.nanoTime();
+    }
+
+    private void closeConnection() {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+                // Already broken
+            }
+        }
+        connection = null;
+        pgConnection = null;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.backend.service;
+
+import com.example.backend.model.ArchivedEvent;
+import com.example.backend.model.Event;
+import com.example.backend.repository.ArchivedEventRepository;
+import com.example.backend.repository.EventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Moves finished events (and their registrations) out of the hot 'events' tables
+ * into 'archived_events', so listing queries only ever scan current events.
+ * Runs on a schedule and works in small batches, each in its own transaction.
+ */
+@Service
+public class EventArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(EventArchiveService.class);
+
+    private final EventRepository eventRepository;
+    private final ArchivedEventRepository archivedEventRepository;
+    private final EventSearchService eventSearchService;
+    private final RegistrationAnalyticsService analyticsService;
+    private final ChangeLogService changeLogService;
+    private final ClusterCoordinator clusterCoordinator;
+    private final SingleFlight singleFlight;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public EventArchiveService(EventRepository eventRepository,
+                               ArchivedEventRepository archivedEventRepository,
+                               EventSearchService eventSearchService,
+                               RegistrationAnalyticsService analyticsService,
+                               ChangeLogService changeLogService,
+                               ClusterCoordinator clusterCoordinator,
+                               SingleFlight singleFlight,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.archive.batch-size:200}") int batchSize) {
+        this.eventRepository = eventRepository;
+        this.archivedEventRepository = archivedEventRepository;
+        this.eventSearchService = eventSearchService;
+        this.analyticsService = analyticsService;
+        this.changeLogService = changeLogService;
+        this.clusterCoordinator = clusterCoordinator;
+        this.singleFlight = singleFlight;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Archives every event that has already happened. Set app.archive.cron to "-" to turn it off.
+     * @return The number of events that were archived.
+     */
+    @Scheduled(cron = "${app.archive.cron:0 30 3 * * *}")
+    public int archiveFinishedEvents() {
+        LocalDate today = LocalDate.now();
+        LocalTime now = LocalTime.now();
+        int total = 0;
+
+        while (true) {
+            List<Long> archived = transactionTemplate.execute(status -> archiveBatch(today, now));
+            if (archived == null || archived.isEmpty()) {
+                break;
+            }
+            // Only touch the search index, analytics and other instances once the batch has actually been committed
+            singleFlight.forget(EventService.PUBLISHED_EVENTS, "");
+            for (Long id : archived) {
+                singleFlight.forget(EventService.EVENT_REGISTRANTS, id);
+                eventSearchService.remove(id);
+                analyticsService.onEventRemoved(id);
+                clusterCoordinator.publish("events", id);
+            }
+            total += archived.size();
+            if (archived.size() < batchSize) {
+                break;
+            }
+        }
+
+        if (total > 0) {
+            log.info("Archived {} finished events", total);
+        }
+        return total;
+    }
+
+    private List<Long> archiveBatch(LocalDate today, LocalTime now) {
+        List<Long> ids = eventRepository.findFinishedEventIds(today, now, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        List<Event> events = eventRepository.findAllById(ids);
+        LocalDateTime archivedAt = LocalDateTime.now();
+
+        archivedEventRepository.saveAll(events.stream().map(e -> new ArchivedEvent(e, archivedAt)).toList());
+        // Deleting through JPA also removes the rows in event_registrations
+        eventRepository.deleteAll(events);
+        List<Long> archived = events.stream().map(Event::getId).toList();
+        archived.forEach(id -> changeLogService.record("event", id, "archived", null));
+        return archived;
+    }
+
+    @Transactional(readOnly = true)
+    public List<ArchivedEvent> getArchivedEvents(int page, int size) {
+        return archivedEventRepository.findAllByOrderByDateDescTimeDesc(PageRequest.of(page, size));
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Event;
+import com.example.backend.model.EventSearchResponse;
+import com.example.backend.model.EventSummaryDTO;
+import com.example.backend.repository.EventRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over events, so searching doesn't have to load every event.
+ * The index is built once at startup and then kept up to date by EventService
+ * whenever an event is created, published or deleted.
+ */
+@Service
+@RequiredArgsConstructor
+public class EventSearchService {
+
+    // Title matches count more than matches in the description or location
+    private static final int TITLE_WEIGHT = 3;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int BODY_WEIGHT = 1;
+
+    private final EventRepository eventRepository;
+
+    // token -> (event id -> weighted term frequency). A sorted map lets us answer prefix queries.
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+
+    // Small per-event snapshot used for filtering without touching the database
+    private final Map<Long, IndexedEvent> documents = new ConcurrentHashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private record IndexedEvent(Long id, String status, String category, LocalDate date, Set<String> tokens) {}
+
+    private record Hit(Long id, double score, LocalDate date) {}
+
+    @PostConstruct
+    public void rebuild() {
+        List<Event> events = eventRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            events.forEach(this::addLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the event to the index, replacing any previous version of it.
+     */
+    public void index(Event event) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(event.getId());
+            addLocked(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long eventId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(eventId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Searches published events. Every query term must match (the last one may be a prefix,
+     * so "hack" finds "hackathon" while the user is still typing). Results are ranked by a
+     * simple tf-idf score and paged; only the event ids of the requested page are loaded.
+     */
+    @Transactional(readOnly = true)
+    public EventSearchResponse search(String query, String category, LocalDate from, LocalDate to,
+                                      int page, int size, String viewerEmail) {
+        List<String> terms = tokenize(query);
+        List<Hit> ranked = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = terms.isEmpty() ? allDocuments() : score(terms);
+            for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                IndexedEvent doc = documents.get(entry.getKey());
+                if (doc != null && matchesFilters(doc, category, from, to)) {
+                    ranked.add(new Hit(doc.id(), entry.getValue(), doc.date()));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Highest score first, ties broken by the earliest upcoming date
+        ranked.sort(Comparator.comparingDouble(Hit::score).reversed()
+                .thenComparing(Hit::date, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        // As a long: a huge page number times the page size overflows an int
+        int fromIndex = (int) Math.min(Math.max(page, 0) * (long) size, ranked.size());
+        int toIndex = Math.min(fromIndex + size, ranked.size());
+        List<Long> pageIds = ranked.subList(fromIndex, toIndex).stream().map(Hit::id).toList();
+
+        // findAllById doesn't keep the order of the ids, so put the results back in rank order
+        Map<Long, Event> loaded = new HashMap<>();
+        eventRepository.findAllById(pageIds).forEach(e -> loaded.put(e.getId(), e));
+        List<EventSummaryDTO> results = pageIds.stream().map(loaded::get).filter(Objects::nonNull)
+                .map(e -> EventSummaryDTO.from(e, viewerEmail)).toList();
+
+        EventSearchResponse response = new EventSearchResponse();
+        response.setResults(results);
+        response.setTotal(ranked.size());
+        response.setPage(page);
+        response.setSize(size);
+        return response;
+    }
+
+    // --- Internal helpers (callers must hold the appropriate lock) ---
+
+    private Map<Long, Double> allDocuments() {
+        Map<Long, Double> all = new HashMap<>();
+        documents.keySet().forEach(id -> all.put(id, 0.0));
+        return all;
+    }
+
+    private Map<Long, Double> score(List<String> terms) {
+        Map<Long, Double> scores = null;
+        int documentCount = Math.max(documents.size(), 1);
+
+        for (int i = 0; i < terms.size(); i++) {
+            String term = terms.get(i);
+            boolean prefix = i == terms.size() - 1;
+            Map<Long, Double> termScores = new HashMap<>();
+
+            Collection<Map.Entry<String, Map<Long, Integer>>> matches = prefix
+                    ? postings.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()
+                    : Optional.ofNullable(postings.get(term)).map(p -> Map.entry(term, p)).stream().toList();
+
+            for (Map.Entry<String, Map<Long, Integer>> match : matches) {
+                Map<Long, Integer> docs = match.getValue();
+                double idf = Math.log(1.0 + (double) documentCount / docs.size());
+                // An exact hit on the last term should still beat a mere prefix hit
+                double exactBoost = match.getKey().equals(term) ? 1.0 : 0.5;
+                docs.forEach((id, tf) -> termScores.merge(id, tf * idf * exactBoost, Double::sum));
+            }
+
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                // AND semantics: keep only events that matched every term so far
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((id, s) -> s + termScores.get(id));
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+        return scores == null ? new HashMap<>() : scores;
+    }
+
+    private boolean matchesFilters(IndexedEvent doc, String category, LocalDate from, LocalDate to) {
+        if (!"published".equalsIgnoreCase(doc.status())) {
+            return false;
+        }
+        if (category != null && !category.isBlank() && !"all".equalsIgnoreCase(category)
+                && !category.equalsIgnoreCase(doc.category())) {
+            return false;
+        }
+        if (from != null && (doc.date() == null || doc.date().isBefore(from))) {
+            return false;
+        }
+        return to == null || (doc.date() != null && !doc.date().isAfter(to));
+    }
+
+    private void addLocked(Event event) {
+        if (event.getId() == null) {
+            return;
+        }
+        Map<String, Integer> frequencies = new HashMap<>();
+        tokenize(event.getTitle()).forEach(t -> frequencies.merge(t, TITLE_WEIGHT, Integer::sum));
+        tokenize(event.getCategory()).forEach(t -> frequencies.merge(t, CATEGORY_WEIGHT, Integer::sum));
+        tokenize(event.getDescription()).forEach(t -> frequencies.merge(t, BODY_WEIGHT, Integer::sum));
+        tokenize(event.getLocation()).forEach(t -> frequencies.merge(t, BODY_WEIGHT, Integer::sum));
+
+        frequencies.forEach((token, tf) -> postings.computeIfAbsent(token, k -> new HashMap<>()).put(event.getId(), tf));
+        documents.put(event.getId(), new IndexedEvent(event.getId(), event.getStatus(), event.getCategory(),
+                event.getDate(), frequencies.keySet()));
+    }
+
+    private void removeLocked(Long eventId) {
+        if (eventId == null) {
+            return;
+        }
+        IndexedEvent previous = documents.remove(eventId);
+        if (previous == null) {
+            return;
+        }
+        for (String token : previous.tokens()) {
+            Map<Long, Integer> docs = postings.get(token);
+            if (docs != null) {
+                docs.remove(eventId);
+                if (docs.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -1,61 +1,195 @@
 package com.example.backend.service;
 
 import com.example.backend.model.Event;
+import com.example.backend.model.EventSummaryDTO;
 import com.example.backend.repository.EventRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import java.util.Optional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
 public class EventService {
+
+    // SingleFlight name for the published events list; forgotten after every change to an event
+    static final String PUBLISHED_EVENTS = "published-events";
+
+    // SingleFlight name for an event's registrant list (keyed by event id); forgotten when its
+    // registrations change, and for every event when students change
+    public static final String EVENT_REGISTRANTS = "event-registrants";
     
     private final EventRepository eventRepository;
     
     // --- 1. ADD THIS LINE TO INJECT THE NOTIFICATION SERVICE ---
     private final NotificationService notificationService;
 
+    // Keeps the search index in step with the events table
+    private final EventSearchService eventSearchService;
+
+    private final RegistrationAnalyticsService analyticsService;
+
+    // Feeds GET /api/changes
+    private final ChangeLogService changeLogService;
+
+    // Lets the other instances update their search index and analytics too
+    private final ClusterCoordinator clusterCoordinator;
+    private final PrimaryReads primaryReads;
+
+    // Every open student dashboard asks for the published events at once after a publish
+    private final SingleFlight singleFlight;
+
+    // Read-modify-writes load on the primary in the transaction that saves; side effects run after it commits
+    private final TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void subscribeToOtherInstances() {
+        clusterCoordinator.subscribe("events", this::reloadEvents, this::reloadAllEvents);
+    }
+
+    /**
+     * Published events. Concurrent callers share one query; the entities are shared too, so
+     * callers must only read them.
+     */
+    public List<Event> getPublishedEvents() {
+        return singleFlight.execute(PUBLISHED_EVENTS, "", () -> List.copyOf(eventRepository.findByStatus("published")));
+    }
+
     public Event createEvent(Event event) {
-        return eventRepository.save(event);
+        Event saved = transactionTemplate.execute(status -> {
+            Event created = eventRepository.save(event);
+            changeLogService.record("event", created.getId(), "created", EventSummaryDTO.from(created, null));
+            return created;
+        });
+        singleFlight.forget(PUBLISHED_EVENTS, "");
+        eventSearchService.index(saved);
+        analyticsService.onEventSaved(saved);
+        clusterCoordinator.publish("events", saved.getId());
+        return saved;
     }
 
     public Event publishEvent(Long id) {
-        Event event = eventRepository.findById(id).orElseThrow(() -> new RuntimeException("Event not found"));
-        event.setStatus("published");
-        
+        Event saved = transactionTemplate.execute(status -> {
+            Event event = eventRepository.findById(id).orElseThrow(() -> new RuntimeException("Event not found"));
+            event.setStatus("published");
+            Event published = eventRepository.save(event);
+            changeLogService.record("event", published.getId(), "published", EventSummaryDTO.from(published, null));
+            return published;
+        });
+
         // --- 2. ADD THIS LOGIC TO CREATE THE NOTIFICATION ---
         // This assumes your Event entity has a getCreatedBy() method that returns the creator's email.
-        if (event.getCreatedBy() != null && !event.getCreatedBy().isEmpty()) {
+        if (saved.getCreatedBy() != null && !saved.getCreatedBy().isEmpty()) {
             notificationService.createNotification(
-                event.getCreatedBy(), // The email of the user to notify
+                saved.getCreatedBy(), // The email of the user to notify
                 "Event Published!",
-                "Your event draft '" + event.getTitle() + "' is now live.",
+                "Your event draft '" + saved.getTitle() + "' is now live.",
                 "success"
             );
         }
-        
-        return eventRepository.save(event);
+
+        singleFlight.forget(PUBLISHED_EVENTS, "");
+        eventSearchService.index(saved);
+        analyticsService.onEventSaved(saved);
+        clusterCoordinator.publish("events", saved.getId());
+        return saved;
+    }
+
+    public void deleteEvent(Long id) {
+        transactionTemplate.executeWithoutResult(status -> {
+            eventRepository.deleteById(id);
+            changeLogService.record("event", id, "deleted", null);
+        });
+        singleFlight.forget(PUBLISHED_EVENTS, "");
+        singleFlight.forget(EVENT_REGISTRANTS, id);
+        eventSearchService.remove(id);
+        analyticsService.onEventRemoved(id);
+        clusterCoordinator.publish("events", id);
     }
 
     // ... (your other methods remain unchanged) ...
 
     public boolean registerForEvent(Long eventId, String userEmail) {
-        Optional<Event> optionalEvent = eventRepository.findById(eventId);
-        if (optionalEvent.isPresent()) {
-            Event event = optionalEvent.get();
-            if (event.getRegisteredUsers().size() < event.getMaxAttendees()) {
-                event.getRegisteredUsers().add(userEmail);
-                eventRepository.save(event);
-                return true;
+        // The row lock makes concurrent registrations take turns, so none is lost and the capacity check holds
+        Registration registration = transactionTemplate.execute(status -> {
+            Optional<Event> optionalEvent = eventRepository.findByIdForUpdate(eventId);
+            if (optionalEvent.isPresent()) {
+                Event event = optionalEvent.get();
+                if (event.getRegisteredUsers().size() < event.getMaxAttendees()) {
+                    // Registering twice is still a success, but only the first one counts
+                    boolean added = event.getRegisteredUsers().add(userEmail);
+                    Event saved = eventRepository.save(event);
+                    if (added) {
+                        logRegistration(saved, userEmail, "registered");
+                    }
+                    return new Registration(saved, added);
+                }
             }
+            return null;
+        });
+        if (registration == null) {
+            return false;
         }
-        return false;
+        if (registration.changed()) {
+            analyticsService.onRegistered(registration.event());
+            registrationChanged(registration.event());
+        }
+        return true;
     }
 
     public void unregisterFromEvent(Long eventId, String userEmail) {
-        eventRepository.findById(eventId).ifPresent(event -> {
-            event.getRegisteredUsers().remove(userEmail);
-            eventRepository.save(event);
-        });
+        Registration registration = transactionTemplate.execute(status -> eventRepository.findByIdForUpdate(eventId)
+                .filter(event -> event.getRegisteredUsers().remove(userEmail))
+                .map(event -> {
+                    Event saved = eventRepository.save(event);
+                    logRegistration(saved, userEmail, "unregistered");
+                    return new Registration(saved, true);
+                })
+                .orElse(null));
+        if (registration != null) {
+            analyticsService.onUnregistered(registration.event());
+            registrationChanged(registration.event());
+        }
+    }
+
+    // The saved event and whether its registrations actually changed
+    private record Registration(Event event, boolean changed) {}
+
+    // In the registration's transaction, so the change and its log entry commit together
+    private void logRegistration(Event event, String userEmail, String action) {
+        changeLogService.record("registration", event.getId() + ":" + userEmail, action,
+                Map.of("eventId", event.getId(), "email", userEmail, "attendees", event.getAttendees()));
+    }
+
+    private void registrationChanged(Event event) {
+        singleFlight.forget(PUBLISHED_EVENTS, ""); // The list carries attendee counts
+        singleFlight.forget(EVENT_REGISTRANTS, event.getId());
+        clusterCoordinator.publish("events", event.getId());
+    }
+
+    // Another instance changed these events. Read them from the primary, a replica may not have them yet.
+    private void reloadEvents(Set<String> keys) {
+        singleFlight.forget(PUBLISHED_EVENTS, "");
+        List<Long> ids = keys.stream().map(Long::valueOf).toList();
+        ids.forEach(id -> singleFlight.forget(EVENT_REGISTRANTS, id));
+        Set<Long> missing = new HashSet<>(ids);
+        for (Event event : primaryReads.run(() -> eventRepository.findAllById(ids))) {
+            missing.remove(event.getId());
+            eventSearchService.index(event);
+            analyticsService.onEventSaved(event);
+        }
+        for (Long id : missing) {
+            eventSearchService.remove(id);
+            analyticsService.onEventRemoved(id);
+        }
+    }
+
+    private void reloadAllEvents() {
+        singleFlight.forget(PUBLISHED_EVENTS, "");
+        singleFlight.forgetAll(EVENT_REGISTRANTS);
+        eventSearchService.rebuild();
+        analyticsService.flush(); // So the reload also sees this instance's own pending counts
+        analyticsService.seed();
     }
 }
\ No newline at end of file
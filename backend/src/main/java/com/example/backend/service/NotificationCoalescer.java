@@ -0,0 +1,291 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Notification;
+import com.example.backend.repository.NotificationRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Buffers new notifications in memory and writes them in batches, merging repeats.
+ *
+ * Notifications for the same user with the same type and title are merged into one digest
+ * row with a count, both while buffered and with an unread row created within the last
+ * digest window. So ten "Event Published!" notifications in a few minutes become one row
+ * with count 10 (and the latest message) instead of ten rows.
+ *
+ * Every drained batch is tracked per user until its transaction has finished, so flushUser
+ * and discardUser can wait for a concurrent flush instead of missing rows it is still writing.
+ */
+@Service
+public class NotificationCoalescer {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationCoalescer.class);
+
+    // How long a user's read or delete waits for another thread's batch to be written
+    private static final long WRITE_WAIT_SECONDS = 5;
+
+    private record Key(String userEmail, String type, String title) {}
+
+    private static final class Pending {
+        String message;
+        int count;
+        LocalDateTime lastOccurredAt;
+        int failedWrites;
+    }
+
+    private final NotificationRepository notificationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration digestWindow;
+    private final int maxBuffered;
+    private final int maxWriteAttempts;
+
+    // Swapped for a fresh map on every flush, so writers never wait for the database.
+    // Adding takes the read lock (many at once); swapping or draining takes the write lock.
+    private Map<Key, Pending> buffer = new ConcurrentHashMap<>();
+    private final ReadWriteLock bufferLock = new ReentrantReadWriteLock();
+
+    // user -> batches with notifications for them that have been drained but not yet written.
+    // Registered while the write lock is held, so an entry is always either buffered or in here.
+    private final Map<String, Set<CompletableFuture<Void>>> writing = new ConcurrentHashMap<>();
+
+    public NotificationCoalescer(NotificationRepository notificationRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.notifications.digest-window:PT10M}") Duration digestWindow,
+                                 @Value("${app.notifications.max-buffered:1000}") int maxBuffered,
+                                 @Value("${app.notifications.max-write-attempts:5}") int maxWriteAttempts) {
+        this.notificationRepository = notificationRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.digestWindow = digestWindow;
+        this.maxBuffered = maxBuffered;
+        this.maxWriteAttempts = maxWriteAttempts;
+    }
+
+    public void add(String userEmail, String title, String message, String type) {
+        int size;
+        bufferLock.readLock().lock();
+        try {
+            buffer.compute(new Key(userEmail, type, title), (key, pending) -> {
+                if (pending == null) {
+                    pending = new Pending();
+                }
+                pending.message = message;
+                pending.count++;
+                pending.lastOccurredAt = LocalDateTime.now();
+                return pending;
+            });
+            size = buffer.size();
+        } finally {
+            bufferLock.readLock().unlock();
+        }
+        // Don't let a burst grow the buffer without limit; write it out straight away instead
+        if (size >= maxBuffered) {
+            flush();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.flush-interval:PT2S}")
+    public void flush() {
+        Map<Key, Pending> drained;
+        CompletableFuture<Void> written;
+        bufferLock.writeLock().lock();
+        try {
+            drained = buffer;
+            if (drained.isEmpty()) {
+                return;
+            }
+            buffer = new ConcurrentHashMap<>();
+            written = startWriting(drained);
+        } finally {
+            bufferLock.writeLock().unlock();
+        }
+        write(drained, written);
+    }
+
+    /**
+     * Writes out just this user's buffered notifications, so they see them as soon as they look,
+     * and waits for any batch of theirs another thread is still writing.
+     * @return true if rows for the user may have just been written, so a replica may not have them yet.
+     */
+    public boolean flushUser(String userEmail) {
+        Map<Key, Pending> mine;
+        CompletableFuture<Void> written = null;
+        List<CompletableFuture<Void>> others;
+        bufferLock.writeLock().lock();
+        try {
+            mine = removeUser(userEmail);
+            others = writingFor(userEmail);
+            if (!mine.isEmpty()) {
+                written = startWriting(mine);
+            }
+        } finally {
+            bufferLock.writeLock().unlock();
+        }
+        if (written != null) {
+            write(mine, written);
+        }
+        awaitWrites(others);
+        return written != null || !others.isEmpty();
+    }
+
+    /**
+     * Drops this user's buffered notifications and waits for any batch of theirs that is still
+     * being written, so rows deleted right after this don't reappear a moment later.
+     */
+    public void discardUser(String userEmail) {
+        List<CompletableFuture<Void>> others;
+        bufferLock.writeLock().lock();
+        try {
+            removeUser(userEmail);
+            others = writingFor(userEmail);
+        } finally {
+            bufferLock.writeLock().unlock();
+        }
+        if (others.isEmpty()) {
+            return;
+        }
+        awaitWrites(others);
+        // A batch that failed has put its notifications back in the buffer
+        bufferLock.writeLock().lock();
+        try {
+            removeUser(userEmail);
+        } finally {
+            bufferLock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // --- Helpers (removeUser, writingFor and startWriting need the write lock) ---
+
+    private Map<Key, Pending> removeUser(String userEmail) {
+        Map<Key, Pending> removed = new HashMap<>();
+        buffer.entrySet().removeIf(entry -> {
+            if (!entry.getKey().userEmail().equals(userEmail)) {
+                return false;
+            }
+            removed.put(entry.getKey(), entry.getValue());
+            return true;
+        });
+        return removed;
+    }
+
+    private List<CompletableFuture<Void>> writingFor(String userEmail) {
+        return List.copyOf(writing.getOrDefault(userEmail, Set.of()));
+    }
+
+    private CompletableFuture<Void> startWriting(Map<Key, Pending> entries) {
+        CompletableFuture<Void> written = new CompletableFuture<>();
+        entries.keySet().forEach(key -> writing.computeIfAbsent(key.userEmail(), k -> ConcurrentHashMap.newKeySet()).add(written));
+        return written;
+    }
+
+    private void finishWriting(Map<Key, Pending> entries, CompletableFuture<Void> written) {
+        entries.keySet().forEach(key -> writing.computeIfPresent(key.userEmail(), (user, batches) -> {
+            batches.remove(written);
+            return batches.isEmpty() ? null : batches;
+        }));
+        written.complete(null);
+    }
+
+    private static void awaitWrites(List<CompletableFuture<Void>> batches) {
+        if (batches.isEmpty()) {
+            return;
+        }
+        try {
+            CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new)).get(WRITE_WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("Gave up waiting for a notification batch to be written", e);
+        }
+    }
+
+    private void write(Map<Key, Pending> entries, CompletableFuture<Void> written) {
+        try {
+            doWrite(entries);
+        } finally {
+            finishWriting(entries, written);
+        }
+    }
+
+    private void doWrite(Map<Key, Pending> entries) {
+        Set<String> users = new HashSet<>();
+        entries.keySet().forEach(key -> users.add(key.userEmail()));
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+
+                // One query finds every digest row these notifications can be merged into
+                Map<Key, Notification> open = new HashMap<>();
+                LocalDateTime windowStart = LocalDateTime.now().minus(digestWindow);
+                for (Notification existing : notificationRepository.findByUserEmailInAndIsReadFalseAndTimestampAfter(users, windowStart)) {
+                    open.putIfAbsent(new Key(existing.getUserEmail(), existing.getType(), existing.getTitle()), existing);
+                }
+
+                List<Notification> toSave = new ArrayList<>(entries.size());
+                entries.forEach((key, pending) -> {
+                    Notification notification = open.get(key);
+                    if (notification == null) {
+                        notification = new Notification(key.userEmail(), key.title(), pending.message, key.type());
+                        notification.setCount(pending.count);
+                    } else {
+                        notification.setCount(notification.getCount() + pending.count);
+                        notification.setMessage(pending.message);
+                    }
+                    notification.setLastOccurredAt(pending.lastOccurredAt);
+                    toSave.add(notification);
+                });
+                notificationRepository.saveAll(toSave);
+            });
+        } catch (RuntimeException e) {
+            requeue(entries, e);
+        }
+    }
+
+    // Puts notifications whose write failed back in the buffer, merged with any that arrived since,
+    // so the next flush tries again. After app.notifications.max-write-attempts they are dropped.
+    private void requeue(Map<Key, Pending> failed, RuntimeException cause) {
+        int dropped = 0;
+        bufferLock.readLock().lock();
+        try {
+            for (Map.Entry<Key, Pending> entry : failed.entrySet()) {
+                Pending pending = entry.getValue();
+                if (++pending.failedWrites >= maxWriteAttempts) {
+                    dropped += pending.count;
+                    continue;
+                }
+                buffer.merge(entry.getKey(), pending, (newer, older) -> {
+                    newer.count += older.count;
+                    newer.failedWrites = Math.max(newer.failedWrites, older.failedWrites);
+                    return newer;
+                });
+            }
+        } finally {
+            bufferLock.readLock().unlock();
+        }
+        if (dropped > 0) {
+            log.error("Dropped {} notifications after {} failed writes", dropped, maxWriteAttempts, cause);
+        } else {
+            log.warn("Could not write {} buffered notifications; retrying with the next flush", failed.size(), cause);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.example.backend.repository.NotificationRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 
 import java.util.List;
@@ -17,18 +18,31 @@ public class NotificationService {
 
     private final NotificationRepository notificationRepository;
 
-    // Method to create and save a new notification
+    // Buffers and merges repeated notifications before they are written
+    private final NotificationCoalescer notificationCoalescer;
+
+    private final PrimaryReads primaryReads;
+
+    // Bulk changes run after the coalescer has handed over the user's pending notifications
+    private final TransactionTemplate transactionTemplate;
+
+    // Method to create a new notification (written shortly after, merged with similar recent ones)
     public void createNotification(String userEmail, String title, String message, String type) {
-        Notification notification = new Notification(userEmail, title, message, type);
-        notificationRepository.save(notification);
+        notificationCoalescer.add(userEmail, title, message, type);
     }
 
     // --- METHODS FOR THE CONTROLLER ---
 
     public List<Notification> getNotificationsForUser(String userEmail) {
-        return notificationRepository.findByUserEmailOrderByTimestampDesc(userEmail);
+        // Anything still buffered for this user is written first; then read it back from the
+        // primary, because a replica may not have those rows yet
+        if (notificationCoalescer.flushUser(userEmail)) {
+            return primaryReads.run(() -> notificationRepository.findByUserEmailNewestFirst(userEmail));
+        }
+        return notificationRepository.findByUserEmailNewestFirst(userEmail);
     }
 
+    @Transactional
     public Optional<Notification> markNotificationAsRead(Long id) {
         Optional<Notification> notificationOpt = notificationRepository.findById(id);
         if (notificationOpt.isPresent()) {
@@ -39,22 +53,28 @@ public class NotificationService {
         return Optional.empty();
     }
 
-    @Transactional
     public List<Notification> markAllNotificationsAsRead(String userEmail) {
-        List<Notification> unreadNotifications = notificationRepository.findByUserEmailAndIsReadFalse(userEmail);
-        
-        unreadNotifications.forEach(notification -> notification.setRead(true));
-        
-        return notificationRepository.saveAll(unreadNotifications);
+        // Written first so they are marked too, instead of turning up unread afterwards
+        notificationCoalescer.flushUser(userEmail);
+        return transactionTemplate.execute(status -> {
+            List<Notification> unreadNotifications = notificationRepository.findByUserEmailAndIsReadFalse(userEmail);
+
+            unreadNotifications.forEach(notification -> notification.setRead(true));
+
+            return notificationRepository.saveAll(unreadNotifications);
+        });
     }
 
     public void deleteNotificationById(Long id) {
         notificationRepository.deleteById(id);
     }
 
-    @Transactional
     public void deleteAllNotificationsForUser(String userEmail) {
-        List<Notification> userNotifications = notificationRepository.findByUserEmailOrderByTimestampDesc(userEmail);
-        notificationRepository.deleteAll(userNotifications);
+        // Otherwise notifications still buffered would be written after the delete and reappear
+        notificationCoalescer.discardUser(userEmail);
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Notification> userNotifications = notificationRepository.findByUserEmailNewestFirst(userEmail);
+            notificationRepository.deleteAll(userNotifications);
+        });
     }
 }
\ No newline at end of file
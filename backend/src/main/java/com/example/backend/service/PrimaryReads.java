@@ -0,0 +1,22 @@
+package com.example.backend.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs a read against the primary database instead of the read pool/replica.
+ * Use it where a read must see a write that may not have reached the replica yet,
+ * e.g. logging in right after an admin approved the account.
+ */
+@Service
+public class PrimaryReads {
+
+    // A read-write transaction is never routed to the read pool, and the
+    // repository calls inside it join this transaction and its connection
+    @Transactional
+    public <T> T run(Supplier<T> read) {
+        return read.get();
+    }
+}
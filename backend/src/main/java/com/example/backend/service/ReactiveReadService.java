@@ -0,0 +1,136 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Announcement;
+import com.example.backend.model.EventSummaryDTO;
+import com.example.backend.model.Notification;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Non-blocking versions of the public catalogue reads, over R2DBC. Rows are streamed to the
+ * client as the database returns them, and no thread waits on the database in between.
+ * The responses look the same as their blocking counterparts in EventController,
+ * AnnouncementController and NotificationController.
+ */
+@Service
+public class ReactiveReadService {
+
+    private static final String PUBLISHED_EVENTS_SQL =
+            "SELECT e.id, e.title, e.description, e.date, e.time, e.location, e.category, e.max_attendees, "
+            + "e.priority, e.status, e.created_by, "
+            + "(SELECT count(*) FROM event_registrations r WHERE r.event_id = e.id) AS attendees, "
+            + "EXISTS (SELECT 1 FROM event_registrations r WHERE r.event_id = e.id AND r.user_email = :viewer) AS registered "
+            + "FROM events e WHERE e.status = 'published' ORDER BY e.date, e.id";
+
+    // Same order as AnnouncementFeedService
+    private static final String PUBLISHED_ANNOUNCEMENTS_SQL =
+            "SELECT id, title, content, priority, status, target_audience, created_at, published_at "
+            + "FROM announcements WHERE status = 'published' ORDER BY published_at DESC NULLS LAST, id DESC";
+
+    // Same order as NotificationRepository.findByUserEmailNewestFirst
+    private static final String NOTIFICATIONS_SQL =
+            "SELECT id, user_email, title, message, type, is_read, timestamp, digest_count, last_occurred_at "
+            + "FROM notification WHERE user_email = :email ORDER BY COALESCE(last_occurred_at, timestamp) DESC";
+
+    private final DatabaseClient databaseClient;
+    private final NotificationCoalescer notificationCoalescer;
+
+    public ReactiveReadService(DatabaseClient databaseClient, NotificationCoalescer notificationCoalescer) {
+        this.databaseClient = databaseClient;
+        this.notificationCoalescer = notificationCoalescer;
+    }
+
+    /**
+     * Published events. With a viewer, registeredUsers says whether that user is registered.
+     */
+    public Flux<EventSummaryDTO> getPublishedEvents(String viewer) {
+        boolean hasViewer = viewer != null && !viewer.isBlank();
+        return databaseClient.sql(PUBLISHED_EVENTS_SQL)
+                .bind("viewer", hasViewer ? viewer : "")
+                .map(row -> toEvent(row, hasViewer ? viewer : null))
+                .all();
+    }
+
+    /**
+     * Published announcements for the given audience (any parameter may be null), newest first.
+     * Like GET /api/announcements, without any parameters only announcements for "all" are returned.
+     */
+    public Flux<Announcement> getPublishedAnnouncements(String role, String department, String year) {
+        List<String> viewerSegments = AnnouncementFeedService.viewerSegments(role, department, year);
+        return databaseClient.sql(PUBLISHED_ANNOUNCEMENTS_SQL)
+                .map(ReactiveReadService::toAnnouncement)
+                .all()
+                .filter(a -> !Collections.disjoint(
+                        AnnouncementFeedService.audienceSegments(a.getTargetAudience()), viewerSegments));
+    }
+
+    /**
+     * A user's notifications, newest first. Anything NotificationCoalescer still holds for the
+     * user is written first; that write is blocking JDBC, so it runs off the request thread.
+     * With a replica behind the read pool, rows written by that flush can show up a poll later.
+     */
+    public Flux<Notification> getNotifications(String userEmail) {
+        return Mono.fromCallable(() -> notificationCoalescer.flushUser(userEmail))
+                .subscribeOn(Schedulers.boundedElastic())
+                .thenMany(databaseClient.sql(NOTIFICATIONS_SQL)
+                        .bind("email", userEmail)
+                        .map(ReactiveReadService::toNotification)
+                        .all());
+    }
+
+    // --- Row mapping ---
+
+    private static EventSummaryDTO toEvent(Readable row, String viewer) {
+        EventSummaryDTO dto = new EventSummaryDTO();
+        dto.setId(row.get("id", Long.class));
+        dto.setTitle(row.get("title", String.class));
+        dto.setDescription(row.get("description", String.class));
+        dto.setDate(row.get("date", LocalDate.class));
+        dto.setTime(row.get("time", LocalTime.class));
+        dto.setLocation(row.get("location", String.class));
+        dto.setCategory(row.get("category", String.class));
+        dto.setMaxAttendees(row.get("max_attendees", Integer.class));
+        dto.setPriority(row.get("priority", String.class));
+        dto.setStatus(row.get("status", String.class));
+        dto.setCreatedBy(row.get("created_by", String.class));
+        dto.setAttendees(row.get("attendees", Long.class).intValue());
+        if (viewer != null) {
+            dto.setRegisteredUsers(Boolean.TRUE.equals(row.get("registered", Boolean.class)) ? List.of(viewer) : List.of());
+        }
+        return dto;
+    }
+
+    private static Announcement toAnnouncement(Readable row) {
+        Announcement announcement = new Announcement();
+        announcement.setId(row.get("id", Long.class));
+        announcement.setTitle(row.get("title", String.class));
+        announcement.setContent(row.get("content", String.class));
+        announcement.setPriority(row.get("priority", String.class));
+        announcement.setStatus(row.get("status", String.class));
+        announcement.setTargetAudience(row.get("target_audience", String.class));
+        announcement.setCreatedAt(row.get("created_at", LocalDate.class));
+        announcement.setPublishedAt(row.get("published_at", LocalDate.class));
+        return announcement;
+    }
+
+    private static Notification toNotification(Readable row) {
+        Notification notification = new Notification(row.get("user_email", String.class), row.get("title", String.class),
+                row.get("message", String.class), row.get("type", String.class));
+        notification.setId(row.get("id", Long.class));
+        notification.setRead(Boolean.TRUE.equals(row.get("is_read", Boolean.class)));
+        notification.setTimestamp(row.get("timestamp", LocalDateTime.class));
+        notification.setCount(row.get("digest_count", Integer.class));
+        notification.setLastOccurredAt(row.get("last_occurred_at", LocalDateTime.class));
+        return notification;
+    }
+}
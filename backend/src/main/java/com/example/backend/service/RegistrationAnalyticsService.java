@@ -0,0 +1,306 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Event;
+import com.example.backend.model.RegistrationAnalytics;
+import com.example.backend.model.RegistrationAnalytics.CategoryStats;
+import com.example.backend.model.RegistrationAnalytics.DailyStats;
+import com.example.backend.model.RegistrationAnalytics.EventStats;
+import com.example.backend.repository.EventRepository;
+import com.example.backend.repository.RegistrationDailyCountRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registration analytics kept up to date as registrations happen, instead of scanning
+ * events and event_registrations on every dashboard view.
+ *
+ * Per-event counters are seeded once at startup and then adjusted by EventService (and, for
+ * other instances' changes, by its cluster reload). Daily counts are buffered as deltas and
+ * added to registration_daily_counts in one batch per flush; the daily totals shown are then
+ * read back from that table, so every instance reports the same numbers. The dashboard
+ * snapshot is rebuilt on that flush only if something changed, so serving it is just
+ * returning the last one.
+ */
+@Service
+public class RegistrationAnalyticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistrationAnalyticsService.class);
+
+    private static final int TOP_EVENTS = 10;
+
+    // Adds to an existing row rather than overwriting it, so several instances can flush safely
+    private static final String UPSERT_SQL =
+            "INSERT INTO registration_daily_counts (event_id, category, date, registrations, unregistrations) "
+            + "VALUES (?, ?, ?, ?, ?) ON CONFLICT (event_id, date) DO UPDATE SET "
+            + "registrations = registration_daily_counts.registrations + EXCLUDED.registrations, "
+            + "unregistrations = registration_daily_counts.unregistrations + EXCLUDED.unregistrations, "
+            + "category = EXCLUDED.category";
+
+    private static final class TrackedEvent {
+        volatile String title;
+        volatile String category;
+        volatile String status;
+        volatile int capacity;
+        final AtomicInteger registrations = new AtomicInteger();
+    }
+
+    private record EventDay(Long eventId, LocalDate day) {}
+
+    private record Delta(String category, int registrations, int unregistrations) {
+        Delta plus(Delta other) {
+            return new Delta(other.category, registrations + other.registrations, unregistrations + other.unregistrations);
+        }
+    }
+
+    private final EventRepository eventRepository;
+    private final RegistrationDailyCountRepository dailyCountRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int windowDays;
+
+    // Replaced as a whole by seed(), so readers never see it half loaded
+    private volatile Map<Long, TrackedEvent> events = new ConcurrentHashMap<>();
+    // registration_daily_counts summed per day over the window, as of the last seed or flush
+    private volatile Map<LocalDate, DailyStats> storedDaily = Map.of();
+    // Not yet written to registration_daily_counts
+    private final Map<EventDay, Delta> pending = new ConcurrentHashMap<>();
+
+    private volatile RegistrationAnalytics snapshot;
+    private volatile boolean dirty;
+
+    public RegistrationAnalyticsService(EventRepository eventRepository,
+                                        RegistrationDailyCountRepository dailyCountRepository,
+                                        JdbcTemplate jdbcTemplate,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${app.analytics.window-days:30}") int windowDays) {
+        this.eventRepository = eventRepository;
+        this.dailyCountRepository = dailyCountRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.windowDays = windowDays;
+    }
+
+    @PostConstruct
+    public void seed() {
+        Map<Long, TrackedEvent> seeded = new ConcurrentHashMap<>();
+        for (Object[] row : eventRepository.findRegistrationStats()) {
+            TrackedEvent tracked = new TrackedEvent();
+            tracked.title = (String) row[1];
+            tracked.category = (String) row[2];
+            tracked.status = (String) row[3];
+            tracked.capacity = ((Number) row[4]).intValue();
+            tracked.registrations.set(((Number) row[5]).intValue());
+            seeded.put((Long) row[0], tracked);
+        }
+        Map<LocalDate, DailyStats> daily = loadDaily();
+        events = seeded;
+        storedDaily = daily;
+        snapshot = buildSnapshot();
+    }
+
+    // --- Called by EventService / EventArchiveService after the change is saved ---
+
+    /**
+     * Starts tracking a new event, or picks up a changed title, status or capacity.
+     */
+    public void onEventSaved(Event event) {
+        TrackedEvent tracked = events.computeIfAbsent(event.getId(), id -> new TrackedEvent());
+        tracked.title = event.getTitle();
+        tracked.category = event.getCategory();
+        tracked.status = event.getStatus();
+        tracked.capacity = event.getMaxAttendees();
+        tracked.registrations.set(event.getRegisteredUsers().size());
+        dirty = true;
+    }
+
+    public void onRegistered(Event event) {
+        track(event).registrations.incrementAndGet();
+        record(event, new Delta(event.getCategory(), 1, 0));
+    }
+
+    public void onUnregistered(Event event) {
+        track(event).registrations.decrementAndGet();
+        record(event, new Delta(event.getCategory(), 0, 1));
+    }
+
+    /**
+     * Stops counting a deleted or archived event. Its daily history is kept.
+     */
+    public void onEventRemoved(Long eventId) {
+        if (events.remove(eventId) != null) {
+            dirty = true;
+        }
+    }
+
+    // --- Reads ---
+
+    public RegistrationAnalytics getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Day-by-day history of one event. Changes from the last few seconds may not be in it yet.
+     */
+    public List<DailyStats> getEventHistory(Long eventId) {
+        return dailyCountRepository.findByEventIdOrderByDate(eventId).stream()
+                .map(c -> new DailyStats(c.getDate(), c.getRegistrations(), c.getUnregistrations()))
+                .toList();
+    }
+
+    // --- Background work ---
+
+    @Scheduled(fixedDelayString = "${app.analytics.flush-interval:PT15S}")
+    public void flush() {
+        Map<EventDay, Delta> drained = new HashMap<>();
+        // remove() is atomic, so an increment either lands in what we drained or stays pending
+        for (EventDay key : pending.keySet()) {
+            Delta delta = pending.remove(key);
+            if (delta != null) {
+                drained.put(key, delta);
+            }
+        }
+        if (!drained.isEmpty()) {
+            List<Object[]> rows = new ArrayList<>(drained.size());
+            drained.forEach((key, delta) -> rows.add(new Object[]{key.eventId(), delta.category(),
+                    Date.valueOf(key.day()), delta.registrations(), delta.unregistrations()}));
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPSERT_SQL, rows));
+            } catch (RuntimeException e) {
+                // Put them back and try again on the next flush
+                drained.forEach((key, delta) -> pending.merge(key, delta, Delta::plus));
+                log.warn("Could not write {} daily registration counts, will retry", rows.size(), e);
+            }
+        }
+        // Picks up what the other instances have written too
+        try {
+            Map<LocalDate, DailyStats> daily = loadDaily();
+            if (!daily.equals(storedDaily)) {
+                storedDaily = daily;
+                dirty = true;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not read daily registration counts; showing the last ones", e);
+        }
+        if (dirty) {
+            dirty = false;
+            snapshot = buildSnapshot();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    // --- Internal helpers ---
+
+    private TrackedEvent track(Event event) {
+        return events.computeIfAbsent(event.getId(), id -> {
+            TrackedEvent tracked = new TrackedEvent();
+            tracked.title = event.getTitle();
+            tracked.category = event.getCategory();
+            tracked.status = event.getStatus();
+            tracked.capacity = event.getMaxAttendees();
+            return tracked;
+        });
+    }
+
+    private void record(Event event, Delta delta) {
+        LocalDate today = LocalDate.now();
+        pending.merge(new EventDay(event.getId(), today), delta, Delta::plus);
+        dirty = true;
+    }
+
+    private Map<LocalDate, DailyStats> loadDaily() {
+        Map<LocalDate, DailyStats> daily = new HashMap<>();
+        for (Object[] row : dailyCountRepository.sumByDateFrom(windowStart())) {
+            LocalDate day = (LocalDate) row[0];
+            daily.put(day, new DailyStats(day, ((Number) row[1]).longValue(), ((Number) row[2]).longValue()));
+        }
+        return Map.copyOf(daily);
+    }
+
+    private LocalDate windowStart() {
+        return LocalDate.now().minusDays(windowDays - 1L);
+    }
+
+    private RegistrationAnalytics buildSnapshot() {
+        long registrations = 0;
+        long capacity = 0;
+        long filledRegistrations = 0;
+        Map<String, long[]> byCategory = new TreeMap<>(); // category -> {events, registrations, capacity, registrations with capacity}
+        Map<Long, TrackedEvent> current = events;
+        List<EventStats> eventStats = new ArrayList<>(current.size());
+
+        for (Map.Entry<Long, TrackedEvent> entry : current.entrySet()) {
+            TrackedEvent tracked = entry.getValue();
+            int count = tracked.registrations.get();
+            int max = tracked.capacity;
+            String category = tracked.category == null ? "Uncategorized" : tracked.category;
+
+            long[] c = byCategory.computeIfAbsent(category, k -> new long[4]);
+            c[0]++;
+            c[1] += count;
+            registrations += count;
+            if (max > 0) {
+                c[2] += max;
+                c[3] += count;
+                capacity += max;
+                filledRegistrations += count;
+            }
+            eventStats.add(new EventStats(entry.getKey(), tracked.title, tracked.category, tracked.status,
+                    count, max, ratio(count, max)));
+        }
+
+        eventStats.sort(Comparator.comparingInt(EventStats::registrations).reversed()
+                .thenComparing(EventStats::id));
+
+        // What is stored, plus this instance's counts that a failed flush has kept back
+        Map<LocalDate, long[]> unwritten = new HashMap<>();
+        pending.forEach((key, delta) -> {
+            long[] totals = unwritten.computeIfAbsent(key.day(), d -> new long[2]);
+            totals[0] += delta.registrations();
+            totals[1] += delta.unregistrations();
+        });
+        Map<LocalDate, DailyStats> stored = storedDaily;
+        List<DailyStats> days = new ArrayList<>(windowDays);
+        for (LocalDate day = windowStart(); !day.isAfter(LocalDate.now()); day = day.plusDays(1)) {
+            DailyStats totals = stored.getOrDefault(day, new DailyStats(day, 0, 0));
+            long[] extra = unwritten.getOrDefault(day, new long[2]);
+            days.add(new DailyStats(day, totals.registrations() + extra[0], totals.unregistrations() + extra[1]));
+        }
+
+        RegistrationAnalytics analytics = new RegistrationAnalytics();
+        analytics.setGeneratedAt(LocalDateTime.now());
+        analytics.setEvents(current.size());
+        analytics.setRegistrations(registrations);
+        analytics.setCapacity(capacity);
+        analytics.setFillRatio(ratio(filledRegistrations, capacity));
+        analytics.setCategories(byCategory.entrySet().stream()
+                .map(e -> new CategoryStats(e.getKey(), (int) e.getValue()[0], e.getValue()[1], e.getValue()[2],
+                        ratio(e.getValue()[3], e.getValue()[2])))
+                .toList());
+        analytics.setTopEvents(List.copyOf(eventStats.subList(0, Math.min(TOP_EVENTS, eventStats.size()))));
+        analytics.setDaily(days);
+        return analytics;
+    }
+
+    private static double ratio(long count, long capacity) {
+        return capacity > 0 ? (double) count / capacity : 0.0;
+    }
+}
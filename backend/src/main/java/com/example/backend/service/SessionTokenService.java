@@ -0,0 +1,183 @@
+package com.example.backend.service;
+
+import com.example.backend.model.TokenRevocation;
+import com.example.backend.repository.TokenRevocationRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Issues and verifies the compact signed tokens returned by the login endpoints.
+ *
+ * A token is base64url("role|issuedAt|expiresAt|email") + "." + base64url(HMAC-SHA256 of that payload).
+ * Verifying one is pure CPU work: no database lookup. Accounts that are rejected or deleted
+ * are put in a small revocation map so their existing tokens stop working immediately. The map
+ * is a copy of the token_revocations table, which it is reloaded from at startup and whenever
+ * a cluster message may have been missed.
+ */
+@Service
+public class SessionTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionTokenService.class);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /**
+     * The identity carried by a valid token.
+     */
+    public record TokenClaims(String email, String role, Instant issuedAt, Instant expiresAt) {}
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+
+    // Mac objects aren't thread-safe, so every request thread gets its own
+    private final ThreadLocal<Mac> macs;
+
+    // email -> epoch second of revocation; tokens issued at or before that are rejected
+    private final Map<String, Long> revocations = new ConcurrentHashMap<>();
+
+    private final ClusterCoordinator clusterCoordinator;
+    private final TokenRevocationRepository revocationRepository;
+    private final PrimaryReads primaryReads;
+
+    public SessionTokenService(ClusterCoordinator clusterCoordinator,
+                               TokenRevocationRepository revocationRepository,
+                               PrimaryReads primaryReads,
+                               @Value("${app.auth.token-secret:}") String secret,
+                               @Value("${app.auth.token-ttl:12h}") Duration ttl) {
+        byte[] secretBytes;
+        if (secret == null || secret.isBlank()) {
+            // Fine for local development, but tokens won't survive a restart or work across instances
+            log.warn("app.auth.token-secret is not set; using a random secret for this run");
+            secretBytes = new byte[32];
+            new SecureRandom().nextBytes(secretBytes);
+        } else {
+            secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(secretBytes, ALGORITHM);
+        this.ttl = ttl;
+        this.macs = ThreadLocal.withInitial(this::newMac);
+        this.clusterCoordinator = clusterCoordinator;
+        this.revocationRepository = revocationRepository;
+        this.primaryReads = primaryReads;
+        clusterCoordinator.subscribe("token-revocations", this::applyRevocations, this::reloadRevocations);
+    }
+
+    @PostConstruct
+    void loadRevocations() {
+        reloadRevocations();
+    }
+
+    public String issue(String email, String role) {
+        long now = Instant.now().getEpochSecond();
+        String payload = role + "|" + now + "|" + (now + ttl.toSeconds()) + "|" + email;
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(sign(payloadBytes));
+    }
+
+    /**
+     * @return The claims if the signature is valid, the token hasn't expired and the account hasn't been revoked.
+     */
+    public Optional<TokenClaims> verify(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) {
+            return Optional.empty();
+        }
+        try {
+            byte[] payloadBytes = DECODER.decode(token.substring(0, dot));
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            // Constant-time comparison so the signature can't be guessed byte by byte
+            if (!MessageDigest.isEqual(sign(payloadBytes), signature)) {
+                return Optional.empty();
+            }
+
+            String[] parts = new String(payloadBytes, StandardCharsets.UTF_8).split("\\|", 4);
+            if (parts.length != 4) {
+                return Optional.empty();
+            }
+            long issuedAt = Long.parseLong(parts[1]);
+            long expiresAt = Long.parseLong(parts[2]);
+            String email = parts[3];
+
+            if (Instant.now().getEpochSecond() >= expiresAt) {
+                return Optional.empty();
+            }
+            Long revokedAt = revocations.get(email);
+            if (revokedAt != null && issuedAt <= revokedAt) {
+                return Optional.empty();
+            }
+            return Optional.of(new TokenClaims(email, parts[0], Instant.ofEpochSecond(issuedAt), Instant.ofEpochSecond(expiresAt)));
+        } catch (IllegalArgumentException e) {
+            // Bad base64 or a non-numeric timestamp
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Invalidates every token issued so far for this account.
+     */
+    public void revoke(String email) {
+        long now = Instant.now().getEpochSecond();
+        revocations.merge(email, now, Math::max);
+        revocationRepository.upsert(email, now);
+        clusterCoordinator.publish("token-revocations", now + "|" + email);
+    }
+
+    // Revocations made on other instances, as "epochSecond|email"
+    private void applyRevocations(Set<String> keys) {
+        for (String key : keys) {
+            int bar = key.indexOf('|');
+            revocations.merge(key.substring(bar + 1), Long.parseLong(key.substring(0, bar)), Math::max);
+        }
+    }
+
+    // From the primary: a revocation made a moment ago may not have reached a replica yet
+    private void reloadRevocations() {
+        long cutoff = Instant.now().getEpochSecond() - ttl.toSeconds();
+        for (TokenRevocation revocation : primaryReads.run(() -> revocationRepository.findByRevokedAtGreaterThanEqual(cutoff))) {
+            revocations.merge(revocation.getEmail(), revocation.getRevokedAt(), Math::max);
+        }
+    }
+
+    /**
+     * A revocation only matters until the tokens it blocks would have expired anyway.
+     */
+    @Scheduled(fixedDelayString = "${app.auth.revocation-cleanup-interval:PT10M}")
+    public void pruneRevocations() {
+        long cutoff = Instant.now().getEpochSecond() - ttl.toSeconds();
+        revocations.values().removeIf(revokedAt -> revokedAt < cutoff);
+        revocationRepository.deleteRevokedBefore(cutoff);
+    }
+
+    private byte[] sign(byte[] payload) {
+        return macs.get().doFinal(payload);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent callers asking for the same thing share one database query. When a publish
+ * makes every open dashboard refresh at once, the first caller runs the query and the rest
+ * wait for its result instead of all hitting the database with the same SELECT.
+ *
+ * Nothing is cached: a result is only handed to callers that arrived while its query was
+ * running, and the next caller after it finishes starts a fresh one. Writers call forget()
+ * after committing, so nobody who arrives later joins a query that started before the write.
+ *
+ * Callers that wait longer than app.single-flight.timeout give up on the shared query and run
+ * their own. Results are shared between threads, so they must not be modified.
+ */
+@Service
+public class SingleFlight {
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final Duration timeout;
+
+    public SingleFlight(MeterRegistry meterRegistry,
+                        @Value("${app.single-flight.timeout:PT5S}") Duration timeout) {
+        this.meterRegistry = meterRegistry;
+        this.timeout = timeout;
+        Gauge.builder("single.flight.in.flight", inFlight, Map::size)
+                .description("Distinct queries currently being shared")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param name What is being queried, e.g. "published-events"; also the metric tag.
+     * @param key  Which one, e.g. an event id (or "" if there is only one).
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String name, Object key, Supplier<T> query) {
+        // Inside a read-write transaction the caller may need to see its own uncommitted writes
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            count(name, "executed");
+            return query.get();
+        }
+
+        String fullKey = name + ":" + key;
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(fullKey, mine);
+        if (running == null) {
+            count(name, "executed");
+            try {
+                T result = query.get();
+                mine.complete(result);
+                return result;
+            } catch (RuntimeException | Error e) {
+                mine.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(fullKey, mine);
+            }
+        }
+
+        try {
+            T result = (T) running.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            count(name, "shared");
+            return result;
+        } catch (TimeoutException e) {
+            count(name, "timed-out");
+            return query.get();
+        } catch (ExecutionException e) {
+            count(name, "shared");
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a shared query", e);
+        }
+    }
+
+    /**
+     * Stops new callers from joining a query that is already running. Call it after a write
+     * that changes what the query returns has been committed.
+     */
+    public void forget(String name, Object key) {
+        inFlight.remove(name + ":" + key);
+    }
+
+    /**
+     * forget() for every key of a query, for a write that may change any of their results.
+     */
+    public void forgetAll(String name) {
+        String prefix = name + ":";
+        inFlight.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    private void count(String name, String outcome) {
+        counters.computeIfAbsent(name + "|" + outcome, k -> Counter.builder("single.flight.calls")
+                .description("Coalescable queries: run by this caller (executed), answered by another caller's query (shared), "
+                        + "or run again after waiting too long (timed-out)")
+                .tag("query", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry)).increment();
+    }
+}
@@ -0,0 +1,361 @@
+package com.example.backend.service;
+
+import com.example.backend.model.AccountStatus;
+import com.example.backend.model.StudentImportResult;
+import com.example.backend.model.StudentImportResult.RowError;
+import com.example.backend.repository.PrAdminRepository;
+import com.example.backend.repository.StudentRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Bulk student import from CSV or NDJSON, for onboarding a whole intake at once.
+ *
+ * The upload is read as a stream, one chunk of rows at a time. Rows are validated and checked
+ * against an in-memory set of every email already in use (loaded once per import), so there
+ * are no per-row uniqueness queries. Passwords are hashed in parallel on a bounded pool, and
+ * each chunk is written with one INSERT (the rows passed as arrays) in its own transaction.
+ *
+ * BCrypt is deliberately slow, so plain-text passwords are limited to roughly one hash per
+ * core every ~70 ms. Passwords that already are BCrypt hashes are stored as they are, which
+ * is what makes thousands of rows per second possible.
+ */
+@Service
+public class StudentImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentImportService.class);
+
+    private static final int CHUNK_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+
+    // A student registered through the normal endpoint in the meantime is skipped, not an error for the whole chunk
+    // RETURNING says exactly which rows went in; batch update counts can't, since with
+    // reWriteBatchedInserts the driver reports SUCCESS_NO_INFO whether a row conflicted or not
+    private static final String INSERT_SQL =
+            "INSERT INTO students (name, email, password, role, status) "
+            + "SELECT name, email, password, ?, ? FROM unnest(?::text[], ?::text[], ?::text[]) AS r(name, email, password) "
+            + "ON CONFLICT (email) DO NOTHING RETURNING email";
+
+    public enum Format { CSV, NDJSON }
+
+    private record Row(int line, String name, String email, String password) {}
+
+    private final StudentRepository studentRepository;
+    private final PrAdminRepository prAdminRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final AccountCacheService accountCacheService;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService hashPool;
+    private final int maxRows;
+
+    // One import at a time; each already uses every hashing thread
+    private final Semaphore importPermit = new Semaphore(1);
+
+    public StudentImportService(StudentRepository studentRepository,
+                                PrAdminRepository prAdminRepository,
+                                PasswordEncoder passwordEncoder,
+                                AccountCacheService accountCacheService,
+                                ObjectMapper objectMapper,
+                                JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${app.import.hash-threads:0}") int hashThreads,
+                                @Value("${app.import.max-rows:50000}") int maxRows) {
+        this.studentRepository = studentRepository;
+        this.prAdminRepository = prAdminRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.accountCacheService = accountCacheService;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxRows = maxRows;
+
+        // 0 means one thread per core
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.hashPool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashPool.shutdownNow();
+    }
+
+    /**
+     * Imports students from the stream.
+     * CSV needs a header line with an "email" and a "password" column ("name" is optional).
+     * NDJSON needs one object per line with the same fields.
+     * @param status The status the new accounts get (an admin import is usually already approved).
+     * @return The report, or empty if another import is still running.
+     */
+    public Optional<StudentImportResult> importStudents(InputStream input, Format format, AccountStatus status) throws IOException {
+        if (!importPermit.tryAcquire()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(run(input, format, status));
+        } finally {
+            importPermit.release();
+        }
+    }
+
+    private StudentImportResult run(InputStream input, Format format, AccountStatus status) throws IOException {
+        long started = System.nanoTime();
+        StudentImportResult result = new StudentImportResult();
+
+        // Lower-cased, so "Ana@x.edu" and "ana@x.edu" can't both get in
+        Set<String> emailsInUse = new HashSet<>();
+        studentRepository.findAllEmails().forEach(email -> emailsInUse.add(normalize(email)));
+        prAdminRepository.findAllEmails().forEach(email -> emailsInUse.add(normalize(email)));
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            Map<String, Integer> columns = null;
+            List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+            String line;
+            int lineNumber = 0;
+
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == Format.CSV && columns == null) {
+                    columns = readHeader(line);
+                    if (!columns.containsKey("email") || !columns.containsKey("password")) {
+                        error(result, lineNumber, null, "The CSV header needs 'email' and 'password' columns.");
+                        break;
+                    }
+                    continue;
+                }
+                result.setReceived(result.getReceived() + 1);
+                if (result.getReceived() > maxRows) {
+                    error(result, lineNumber, null, "Too many rows; at most " + maxRows + " per import. The rest was skipped.");
+                    result.setReceived(maxRows);
+                    break;
+                }
+
+                Row row = format == Format.CSV ? csvRow(lineNumber, line, columns, result) : jsonRow(lineNumber, line, result);
+                if (row == null) {
+                    continue;
+                }
+                String problem = validate(row, emailsInUse);
+                if (problem != null) {
+                    error(result, row.line(), row.email(), problem);
+                    continue;
+                }
+                emailsInUse.add(normalize(row.email()));
+                chunk.add(row);
+                if (chunk.size() == CHUNK_SIZE) {
+                    write(chunk, status, result);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                write(chunk, status, result);
+            }
+        } finally {
+            // The inserts bypassed Hibernate, so cached "no such student" lookups must go
+            if (result.getImported() > 0) {
+                accountCacheService.evictAllStudents();
+            }
+        }
+
+        result.setElapsedMillis((System.nanoTime() - started) / 1_000_000);
+        log.info("Imported {} of {} students in {} ms ({} failed)", result.getImported(), result.getReceived(),
+                result.getElapsedMillis(), result.getFailed());
+        return result;
+    }
+
+    private void write(List<Row> chunk, AccountStatus status, StudentImportResult result) {
+        List<Row> hashed = hashAll(chunk);
+        Set<String> inserted;
+        try {
+            inserted = new HashSet<>(transactionTemplate.execute(tx -> jdbcTemplate.query(con -> {
+                PreparedStatement statement = con.prepareStatement(INSERT_SQL);
+                statement.setString(1, "student");
+                statement.setString(2, status.name());
+                statement.setArray(3, con.createArrayOf("text", hashed.stream().map(Row::name).toArray()));
+                statement.setArray(4, con.createArrayOf("text", hashed.stream().map(Row::email).toArray()));
+                statement.setArray(5, con.createArrayOf("text", hashed.stream().map(Row::password).toArray()));
+                return statement;
+            }, (rs, rowNum) -> rs.getString(1))));
+        } catch (RuntimeException e) {
+            log.warn("Could not insert a chunk of {} imported students", chunk.size(), e);
+            chunk.forEach(row -> error(result, row.line(), row.email(), "Could not be saved."));
+            return;
+        }
+        for (Row row : chunk) {
+            if (inserted.contains(row.email())) {
+                result.setImported(result.getImported() + 1);
+            } else {
+                error(result, row.line(), row.email(), "Email is already in use.");
+            }
+        }
+    }
+
+    // BCrypt dominates the cost of an import, so spread it over the pool
+    private List<Row> hashAll(List<Row> chunk) {
+        List<Future<Row>> futures = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            if (BCRYPT_HASH.matcher(row.password()).matches()) {
+                futures.add(CompletableFuture.completedFuture(row));
+            } else {
+                futures.add(hashPool.submit(() -> new Row(row.line(), row.name(), row.email(), passwordEncoder.encode(row.password()))));
+            }
+        }
+        List<Row> hashed = new ArrayList<>(chunk.size());
+        try {
+            for (Future<Row> future : futures) {
+                hashed.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Interrupted while hashing passwords", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not hash a password", e.getCause());
+        }
+        return hashed;
+    }
+
+    private static String validate(Row row, Set<String> emailsInUse) {
+        if (row.email() == null || row.email().isBlank()) {
+            return "Email is missing.";
+        }
+        if (!EMAIL.matcher(row.email()).matches()) {
+            return "Email is not valid.";
+        }
+        if (row.password() == null || row.password().isBlank()) {
+            return "Password is missing.";
+        }
+        if (emailsInUse.contains(normalize(row.email()))) {
+            return "Email is already in use.";
+        }
+        return null;
+    }
+
+    // --- Parsing ---
+
+    private static Map<String, Integer> readHeader(String line) {
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = Objects.requireNonNullElse(splitCsv(line), List.of());
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        return columns;
+    }
+
+    private Row csvRow(int line, String text, Map<String, Integer> columns, StudentImportResult result) {
+        List<String> values = splitCsv(text);
+        if (values == null) {
+            error(result, line, null, "Unbalanced quotes.");
+            return null;
+        }
+        return row(line, column(values, columns.get("name")), column(values, columns.get("email")),
+                column(values, columns.get("password")));
+    }
+
+    private Row jsonRow(int line, String text, StudentImportResult result) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(text);
+        } catch (IOException e) {
+            error(result, line, null, "Not valid JSON.");
+            return null;
+        }
+        if (!node.isObject()) {
+            error(result, line, null, "Expected a JSON object.");
+            return null;
+        }
+        return row(line, node.path("name").asText(null), node.path("email").asText(null), node.path("password").asText(null));
+    }
+
+    private static Row row(int line, String name, String email, String password) {
+        String trimmedEmail = email == null ? null : email.trim();
+        String trimmedName = name == null || name.isBlank() ? null : name.trim();
+        // Same default as self-registration: the part of the email before the @
+        if (trimmedName == null && trimmedEmail != null) {
+            trimmedName = trimmedEmail.split("@")[0];
+        }
+        return new Row(line, trimmedName, trimmedEmail, password);
+    }
+
+    private static String column(List<String> values, Integer index) {
+        return index == null || index >= values.size() ? null : values.get(index);
+    }
+
+    /**
+     * Splits one CSV line, honouring double quotes ("" is an escaped quote).
+     * Quoted fields can't span lines. @return null if the quotes don't balance.
+     */
+    static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static void error(StudentImportResult result, int line, String email, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new RowError(line, email, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.backend.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long TARGET = 1_000;
+    private static final long FAST = 10;
+    private static final long SLOW = 5_000;
+
+    @Test
+    void rejectsOnceTheLimitIsInFlight() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, TARGET, 0.5, 0);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+
+        limiter.releaseIgnoringLatency(false);
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void growsWhileRequestsAreFast() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 3, TARGET, 0.5, 0);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire();
+            limiter.release(FAST, false);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(3); // Capped at the maximum
+    }
+
+    @Test
+    void ignoresSlowCompletionsDuringWarmup() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 5, 200, TARGET, 0.5, 20);
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+        for (int i = 0; i < 20; i++) {
+            limiter.release(SLOW, false);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    void cutsOnlyOnceForRequestsAlreadyInFlight() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 5, 200, TARGET, 0.5, 0);
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire();
+        }
+
+        for (int i = 0; i < 20; i++) {
+            limiter.release(SLOW, true);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(10);
+
+        // The next round trip is slow as well
+        limiter.tryAcquire();
+        limiter.release(SLOW, false);
+        assertThat(limiter.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    void neverCutsBelowTheMinimum() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 3, 10, TARGET, 0.5, 0);
+
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire();
+            limiter.release(SLOW, false);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(3);
+    }
+
+    @Test
+    void slowBulkRequestsDoNotMoveTheLimitButFailuresDo() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 20, TARGET, 0.5, 0);
+
+        limiter.tryAcquire();
+        limiter.releaseIgnoringLatency(false);
+        assertThat(limiter.getLimit()).isEqualTo(10);
+
+        limiter.tryAcquire();
+        limiter.releaseIgnoringLatency(true);
+        assertThat(limiter.getLimit()).isEqualTo(5);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.backend.config;
+
+import com.example.backend.config.IdempotencyStore.Claim;
+import com.example.backend.config.IdempotencyStore.StoredResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyStoreTest {
+
+    private static final long HOUR = TimeUnit.HOURS.toNanos(1);
+    private static final StoredResponse OK = new StoredResponse(200, "application/json", "{}".getBytes());
+
+    @Test
+    void theFirstClaimRunsTheRequestAndDuplicatesShareItsEntry() {
+        IdempotencyStore store = new IdempotencyStore(HOUR, 10);
+
+        Claim first = store.claim("k", "f").orElseThrow();
+        Claim duplicate = store.claim("k", "f").orElseThrow();
+
+        assertThat(first.owner()).isTrue();
+        assertThat(duplicate.owner()).isFalse();
+        assertThat(duplicate.entry()).isSameAs(first.entry());
+        assertThat(duplicate.entry().getResponse()).isNotDone();
+    }
+
+    @Test
+    void completingHandsTheResponseToWaitingDuplicatesAndLaterRetries() {
+        IdempotencyStore store = new IdempotencyStore(HOUR, 10);
+        Claim first = store.claim("k", "f").orElseThrow();
+        Claim waiting = store.claim("k", "f").orElseThrow();
+
+        store.complete(first.entry(), OK);
+
+        assertThat(waiting.entry().getResponse()).isCompletedWithValue(OK);
+        Claim retry = store.claim("k", "f").orElseThrow();
+        assertThat(retry.owner()).isFalse();
+        assertThat(retry.entry().getResponse()).isCompletedWithValue(OK);
+    }
+
+    @Test
+    void anAbandonedKeyCanBeClaimedAgain() {
+        IdempotencyStore store = new IdempotencyStore(HOUR, 10);
+        Claim first = store.claim("k", "f").orElseThrow();
+        Claim waiting = store.claim("k", "f").orElseThrow();
+
+        store.abandon("k", first.entry());
+
+        assertThat(waiting.entry().getResponse()).isCompletedWithValue(null);
+        assertThat(store.claim("k", "f").orElseThrow().owner()).isTrue();
+    }
+
+    @Test
+    void keepsTheFirstFingerprintForMismatchChecks() {
+        IdempotencyStore store = new IdempotencyStore(HOUR, 10);
+        store.claim("k", "f1");
+
+        assertThat(store.claim("k", "f2").orElseThrow().entry().getFingerprint()).isEqualTo("f1");
+    }
+
+    @Test
+    void evictsTheOldestCompletedEntryWhenFull() {
+        IdempotencyStore store = new IdempotencyStore(HOUR, 2);
+        store.complete(store.claim("a", "f").orElseThrow().entry(), OK);
+        store.complete(store.claim("b", "f").orElseThrow().entry(), OK);
+
+        assertThat(store.claim("c", "f").orElseThrow().owner()).isTrue();
+
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.claim("b", "f").orElseThrow().owner()).isFalse();
+    }
+
+    @Test
+    void neverEvictsRequestsStillRunning() {
+        IdempotencyStore store = new IdempotencyStore(HOUR, 2);
+        Claim a = store.claim("a", "f").orElseThrow();
+        store.claim("b", "f");
+
+        assertThat(store.claim("c", "f")).isEmpty();
+
+        store.complete(a.entry(), OK);
+        assertThat(store.claim("c", "f")).isPresent();
+        assertThat(store.claim("b", "f").orElseThrow().owner()).isFalse(); // Still running, still there
+    }
+
+    @Test
+    void expiredResponsesAreRunAgainAndSweptButRunningRequestsStay() {
+        IdempotencyStore store = new IdempotencyStore(1, 10);
+        store.complete(store.claim("done", "f").orElseThrow().entry(), OK);
+        store.claim("running", "f");
+
+        store.evictExpired();
+
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.claim("done", "f").orElseThrow().owner()).isTrue();
+    }
+}
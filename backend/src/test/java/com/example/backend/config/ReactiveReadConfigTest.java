@@ -0,0 +1,43 @@
+package com.example.backend.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReactiveReadConfigTest {
+
+    @Test
+    void keepsHostPortAndDatabase() {
+        assertThat(ReactiveReadConfig.r2dbcUrl("jdbc:postgresql://db:5433/app"))
+                .isEqualTo("r2dbc:postgresql://db:5433/app");
+    }
+
+    @Test
+    void translatesConnectionSettingsAndDropsJdbcTuning() {
+        assertThat(ReactiveReadConfig.r2dbcUrl("jdbc:postgresql://db/app?reWriteBatchedInserts=true&sslmode=verify-full"
+                + "&sslrootcert=/certs/root.crt&currentSchema=events&ApplicationName=backend&connectTimeout=10"))
+                .isEqualTo("r2dbc:postgresql://db/app?sslMode=verify-full&sslRootCert=/certs/root.crt"
+                        + "&schema=events&applicationName=backend&connectTimeout=PT10S");
+    }
+
+    @Test
+    void sslTrueMeansVerifyFullUnlessAModeIsGiven() {
+        assertThat(ReactiveReadConfig.r2dbcUrl("jdbc:postgresql://db/app?ssl=true"))
+                .isEqualTo("r2dbc:postgresql://db/app?sslMode=verify-full");
+        assertThat(ReactiveReadConfig.r2dbcUrl("jdbc:postgresql://db/app?sslmode=require&ssl=true"))
+                .isEqualTo("r2dbc:postgresql://db/app?sslMode=require");
+    }
+
+    @Test
+    void dropsOnlyJdbcParameters() {
+        assertThat(ReactiveReadConfig.r2dbcUrl("jdbc:postgresql://db/app?reWriteBatchedInserts=true&unknownSetting=1"))
+                .isEqualTo("r2dbc:postgresql://db/app");
+    }
+
+    @Test
+    void rejectsNonJdbcUrls() {
+        assertThatThrownBy(() -> ReactiveReadConfig.r2dbcUrl("postgresql://db/app"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
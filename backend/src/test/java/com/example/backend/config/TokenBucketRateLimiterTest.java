@@ -0,0 +1,67 @@
+package com.example.backend.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketRateLimiterTest {
+
+    @Test
+    void allowsABurstUpToCapacity() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, 0.001);
+
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isPositive();
+    }
+
+    @Test
+    void reportsSecondsUntilTheNextToken() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 0.1);
+
+        limiter.tryAcquire("a");
+
+        assertThat(limiter.tryAcquire("a")).isBetween(9L, 10L);
+    }
+
+    @Test
+    void refillsOverTime() throws InterruptedException {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 100);
+
+        limiter.tryAcquire("a");
+        Thread.sleep(50);
+
+        assertThat(limiter.tryAcquire("a")).isZero();
+    }
+
+    @Test
+    void keepsABucketPerClient() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 0.001);
+
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isPositive();
+        assertThat(limiter.tryAcquire("b")).isZero();
+    }
+
+    @Test
+    void evictedClientsStartWithAFullBucket() throws InterruptedException {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 0.001);
+        limiter.tryAcquire("a");
+        Thread.sleep(2);
+
+        limiter.evictIdle(1_000_000);
+
+        assertThat(limiter.tryAcquire("a")).isZero();
+    }
+
+    @Test
+    void keepsRecentlyActiveClients() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 0.001);
+        limiter.tryAcquire("a");
+
+        limiter.evictIdle(60_000_000_000L);
+
+        assertThat(limiter.tryAcquire("a")).isPositive();
+    }
+}
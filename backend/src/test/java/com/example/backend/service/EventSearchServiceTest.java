@@ -0,0 +1,125 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Event;
+import com.example.backend.model.EventSearchResponse;
+import com.example.backend.model.EventSummaryDTO;
+import com.example.backend.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EventSearchServiceTest {
+
+    private final List<Event> events = new ArrayList<>();
+    private EventSearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        EventRepository eventRepository = mock(EventRepository.class);
+        when(eventRepository.findAll()).thenReturn(events);
+        when(eventRepository.findAllById(any())).thenAnswer(invocation -> {
+            Collection<?> ids = invocation.getArgument(0);
+            return events.stream().filter(e -> ids.contains(e.getId())).toList();
+        });
+        searchService = new EventSearchService(eventRepository);
+
+        add(1L, "Hackathon Kickoff", "Tech", "Build something in a day", "Lab 1", "2030-03-01", "published");
+        add(2L, "Chess Night", "Games", "Bring your hackathon team", "Hall", "2030-02-01", "published");
+        add(3L, "Hack the Planet", "Tech", "Security talk", "Lab 2", "2030-01-01", "published");
+        add(4L, "Hackathon Draft", "Tech", "Not announced yet", "Lab 3", "2030-01-01", "DRAFT");
+        add(5L, "Robotics Expo", "Tech", "Robots and drones", "Main hall", "2030-04-01", "published");
+        searchService.rebuild();
+    }
+
+    @Test
+    void tokenizeLowercasesAndSplitsOnAnythingButLettersAndDigits() {
+        assertThat(EventSearchService.tokenize("Hack-a-thon 2030, Café!")).containsExactly("hack", "a", "thon", "2030", "café");
+        assertThat(EventSearchService.tokenize("  ")).isEmpty();
+        assertThat(EventSearchService.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    void ranksTitleMatchesAboveDescriptionMatches() {
+        assertThat(ids(search("hackathon", 0, 20))).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void matchesTheLastTermAsAPrefixWithExactHitsFirst() {
+        // "hack" exactly in event 3's title beats "hackathon" in event 1's
+        assertThat(ids(search("hack", 0, 20))).containsExactly(3L, 1L, 2L);
+    }
+
+    @Test
+    void requiresEveryTerm() {
+        assertThat(ids(search("hackathon team", 0, 20))).containsExactly(2L);
+        assertThat(ids(search("chess robots", 0, 20))).isEmpty();
+    }
+
+    @Test
+    void leavesOutUnpublishedEventsAndAppliesFilters() {
+        assertThat(ids(search("lab", 0, 20))).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(ids(searchService.search(null, "tech", LocalDate.parse("2030-02-01"), null, 0, 20, null)))
+                .containsExactly(1L, 5L);
+    }
+
+    @Test
+    void reindexedAndRemovedEventsAreFoundAccordingly() {
+        Event chess = events.get(1);
+        chess.setTitle("Go Night");
+        searchService.index(chess);
+        searchService.remove(3L);
+
+        assertThat(ids(search("chess", 0, 20))).isEmpty();
+        assertThat(ids(search("go", 0, 20))).containsExactly(2L);
+        assertThat(ids(search("hack", 0, 20))).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void pagesThroughTheRankedResults() {
+        EventSearchResponse first = search(null, 0, 2);
+        EventSearchResponse second = search(null, 1, 2);
+        EventSearchResponse last = search(null, 2, 2);
+
+        assertThat(first.getTotal()).isEqualTo(4);
+        assertThat(ids(first)).hasSize(2);
+        assertThat(ids(second)).hasSize(2).doesNotContainAnyElementsOf(ids(first));
+        assertThat(ids(last)).isEmpty();
+    }
+
+    @Test
+    void aPageFarPastTheEndIsEmptyRatherThanAnOverflow() {
+        EventSearchResponse response = search(null, 30_000_000, 100);
+
+        assertThat(response.getResults()).isEmpty();
+        assertThat(response.getTotal()).isEqualTo(4);
+    }
+
+    private EventSearchResponse search(String query, int page, int size) {
+        return searchService.search(query, null, null, null, page, size, null);
+    }
+
+    private static List<Long> ids(EventSearchResponse response) {
+        return response.getResults().stream().map(EventSummaryDTO::getId).toList();
+    }
+
+    private void add(Long id, String title, String category, String description, String location, String date, String status) {
+        Event event = new Event();
+        event.setId(id);
+        event.setTitle(title);
+        event.setCategory(category);
+        event.setDescription(description);
+        event.setLocation(location);
+        event.setDate(LocalDate.parse(date));
+        event.setStatus(status);
+        events.add(event);
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Notification;
+import com.example.backend.repository.NotificationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class NotificationCoalescerTest {
+
+    private final NotificationRepository repository = mock(NotificationRepository.class);
+    private final List<Notification> saved = new ArrayList<>();
+    private final CountDownLatch saving = new CountDownLatch(1);
+    private final CountDownLatch releaseSave = new CountDownLatch(1);
+    private final NotificationCoalescer coalescer;
+
+    NotificationCoalescerTest() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(repository.findByUserEmailInAndIsReadFalseAndTimestampAfter(any(), any())).thenReturn(List.of());
+        coalescer = new NotificationCoalescer(repository, transactionManager, Duration.ofMinutes(10), 1000, 5);
+    }
+
+    @Test
+    void mergesRepeatsIntoOneRow() {
+        recordSaves();
+        coalescer.add("a@x.edu", "Event Published!", "first", "success");
+        coalescer.add("a@x.edu", "Event Published!", "second", "success");
+        coalescer.add("b@x.edu", "Event Published!", "other", "success");
+
+        coalescer.flush();
+
+        assertThat(saved).hasSize(2);
+        Notification merged = saved.stream().filter(n -> n.getUserEmail().equals("a@x.edu")).findFirst().orElseThrow();
+        assertThat(merged.getCount()).isEqualTo(2);
+        assertThat(merged.getMessage()).isEqualTo("second");
+    }
+
+    @Test
+    void flushUserWaitsForABatchAnotherThreadIsWriting() throws Exception {
+        blockSaves();
+        coalescer.add("a@x.edu", "Event Published!", "hello", "success");
+        CompletableFuture<Void> flush = CompletableFuture.runAsync(coalescer::flush);
+        assertThat(saving.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Boolean> flushUser = CompletableFuture.supplyAsync(() -> coalescer.flushUser("a@x.edu"));
+        Thread.sleep(100);
+        assertThat(flushUser).isNotDone();
+
+        releaseSave.countDown();
+        assertThat(flushUser.get(5, TimeUnit.SECONDS)).isTrue(); // Rows were just written
+        flush.get(5, TimeUnit.SECONDS);
+        assertThat(saved).hasSize(1);
+    }
+
+    @Test
+    void flushUserLeavesOtherUsersBuffered() {
+        recordSaves();
+        coalescer.add("a@x.edu", "Event Published!", "hello", "success");
+        coalescer.add("b@x.edu", "Event Published!", "hello", "success");
+
+        assertThat(coalescer.flushUser("a@x.edu")).isTrue();
+        assertThat(coalescer.flushUser("c@x.edu")).isFalse();
+
+        assertThat(saved).extracting(Notification::getUserEmail).containsExactly("a@x.edu");
+    }
+
+    @Test
+    void discardedNotificationsAreNeverWritten() {
+        recordSaves();
+        coalescer.add("a@x.edu", "Event Published!", "hello", "success");
+        coalescer.add("b@x.edu", "Event Published!", "hello", "success");
+
+        coalescer.discardUser("a@x.edu");
+        coalescer.flush();
+
+        assertThat(saved).extracting(Notification::getUserEmail).containsExactly("b@x.edu");
+    }
+
+    @Test
+    void failedWritesAreRetriedWithTheNextFlush() {
+        when(repository.saveAll(any())).thenThrow(new IllegalStateException("database down")).thenAnswer(invocation -> {
+            invocation.<List<Notification>>getArgument(0).forEach(saved::add);
+            return invocation.getArgument(0);
+        });
+        coalescer.add("a@x.edu", "Event Published!", "hello", "success");
+
+        coalescer.flush();
+        assertThat(saved).isEmpty();
+
+        coalescer.flush();
+        assertThat(saved).hasSize(1);
+    }
+
+    private void recordSaves() {
+        when(repository.saveAll(any())).thenAnswer(invocation -> {
+            invocation.<List<Notification>>getArgument(0).forEach(saved::add);
+            return invocation.getArgument(0);
+        });
+    }
+
+    private void blockSaves() {
+        when(repository.saveAll(any())).thenAnswer(invocation -> {
+            saving.countDown();
+            assertThat(releaseSave.await(5, TimeUnit.SECONDS)).isTrue();
+            invocation.<List<Notification>>getArgument(0).forEach(saved::add);
+            return invocation.getArgument(0);
+        });
+    }
+}
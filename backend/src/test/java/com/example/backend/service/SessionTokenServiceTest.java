@@ -0,0 +1,99 @@
+package com.example.backend.service;
+
+import com.example.backend.repository.TokenRevocationRepository;
+import com.example.backend.service.SessionTokenService.TokenClaims;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class SessionTokenServiceTest {
+
+    private final TokenRevocationRepository revocationRepository = mock(TokenRevocationRepository.class);
+    private final ClusterCoordinator clusterCoordinator = mock(ClusterCoordinator.class);
+
+    private SessionTokenService service(String secret, Duration ttl) {
+        return new SessionTokenService(clusterCoordinator, revocationRepository, mock(PrimaryReads.class), secret, ttl);
+    }
+
+    @Test
+    void verifiesTheTokensItIssues() {
+        SessionTokenService tokens = service("test-secret", Duration.ofHours(12));
+
+        TokenClaims claims = tokens.verify(tokens.issue("ada@x.edu", "pr_admin")).orElseThrow();
+
+        assertThat(claims.email()).isEqualTo("ada@x.edu");
+        assertThat(claims.role()).isEqualTo("pr_admin");
+        assertThat(Duration.between(claims.issuedAt(), claims.expiresAt())).isEqualTo(Duration.ofHours(12));
+    }
+
+    @Test
+    void keepsEmailsContainingTheSeparator() {
+        SessionTokenService tokens = service("test-secret", Duration.ofHours(1));
+
+        assertThat(tokens.verify(tokens.issue("odd|name@x.edu", "student")).orElseThrow().email()).isEqualTo("odd|name@x.edu");
+    }
+
+    @Test
+    void rejectsTokensSignedWithAnotherSecret() {
+        String token = service("other-secret", Duration.ofHours(1)).issue("ada@x.edu", "student");
+
+        assertThat(service("test-secret", Duration.ofHours(1)).verify(token)).isEmpty();
+    }
+
+    @Test
+    void rejectsATamperedPayload() {
+        SessionTokenService tokens = service("test-secret", Duration.ofHours(1));
+        String token = tokens.issue("ada@x.edu", "student");
+        String payload = new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))), StandardCharsets.UTF_8);
+        String forged = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(payload.replace("student", "pr_admin").getBytes(StandardCharsets.UTF_8));
+
+        assertThat(tokens.verify(forged + token.substring(token.indexOf('.')))).isEmpty();
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        SessionTokenService tokens = service("test-secret", Duration.ofHours(1));
+
+        assertThat(tokens.verify("")).isEmpty();
+        assertThat(tokens.verify("no-dot")).isEmpty();
+        assertThat(tokens.verify(".signature")).isEmpty();
+        assertThat(tokens.verify("payload.")).isEmpty();
+        assertThat(tokens.verify("not base64!.@@@")).isEmpty();
+    }
+
+    @Test
+    void rejectsExpiredTokens() {
+        SessionTokenService tokens = service("test-secret", Duration.ZERO);
+
+        assertThat(tokens.verify(tokens.issue("ada@x.edu", "student"))).isEmpty();
+    }
+
+    @Test
+    void revokingAnAccountRejectsItsExistingTokensOnly() {
+        SessionTokenService tokens = service("test-secret", Duration.ofHours(1));
+        String revoked = tokens.issue("ada@x.edu", "student");
+        String other = tokens.issue("bob@x.edu", "student");
+
+        tokens.revoke("ada@x.edu");
+
+        assertThat(tokens.verify(revoked)).isEmpty();
+        assertThat(tokens.verify(other)).isPresent();
+        verify(revocationRepository).upsert(eq("ada@x.edu"), anyLong());
+    }
+
+    @Test
+    void worksWithoutAConfiguredSecret() {
+        SessionTokenService tokens = service("", Duration.ofHours(1));
+
+        assertThat(tokens.verify(tokens.issue("ada@x.edu", "student"))).isPresent();
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch querying = new CountDownLatch(1);
+    private final CountDownLatch releaseQuery = new CountDownLatch(1);
+    private final AtomicInteger queries = new AtomicInteger();
+
+    @Test
+    void concurrentCallersShareOneQuery() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(meterRegistry, Duration.ofSeconds(5));
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(
+                () -> singleFlight.execute("events", "", () -> blockingQuery("result")));
+        assertThat(querying.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(
+                () -> singleFlight.execute("events", "", () -> blockingQuery("other")));
+        Thread.sleep(100);
+        releaseQuery.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+        assertThat(queries).hasValue(1);
+        assertThat(count("events", "shared")).isEqualTo(1);
+    }
+
+    @Test
+    void differentKeysDoNotShare() {
+        SingleFlight singleFlight = new SingleFlight(meterRegistry, Duration.ofSeconds(5));
+
+        assertThat(singleFlight.execute("registrants", 1L, () -> "one")).isEqualTo("one");
+        assertThat(singleFlight.execute("registrants", 2L, () -> "two")).isEqualTo("two");
+        assertThat(count("registrants", "executed")).isEqualTo(2);
+    }
+
+    @Test
+    void waitersGetTheQuerysFailure() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(meterRegistry, Duration.ofSeconds(5));
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> singleFlight.execute("events", "", () -> {
+            blockingQuery("unused");
+            throw new IllegalStateException("database down");
+        }));
+        assertThat(querying.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(
+                () -> singleFlight.execute("events", "", () -> "fresh"));
+        Thread.sleep(100);
+        releaseQuery.countDown();
+
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasRootCauseMessage("database down");
+        assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasRootCauseMessage("database down");
+
+        // The failed query is not kept around for later callers
+        assertThat(singleFlight.execute("events", "", () -> "fresh")).isEqualTo("fresh");
+    }
+
+    @Test
+    void waiterRunsItsOwnQueryAfterTheTimeout() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(meterRegistry, Duration.ofMillis(50));
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(
+                () -> singleFlight.execute("events", "", () -> blockingQuery("slow")));
+        assertThat(querying.await(5, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            assertThat(singleFlight.execute("events", "", () -> "own")).isEqualTo("own");
+            assertThat(count("events", "timed-out")).isEqualTo(1);
+        } finally {
+            releaseQuery.countDown();
+        }
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("slow");
+    }
+
+    @Test
+    void forgetStopsNewCallersJoiningARunningQuery() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(meterRegistry, Duration.ofSeconds(5));
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(
+                () -> singleFlight.execute("events", "", () -> blockingQuery("before write")));
+        assertThat(querying.await(5, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            singleFlight.forget("events", "");
+            assertThat(singleFlight.execute("events", "", () -> "after write")).isEqualTo("after write");
+        } finally {
+            releaseQuery.countDown();
+        }
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("before write");
+    }
+
+    // Signals that the query has started, then holds it until the test releases it
+    private String blockingQuery(String result) {
+        queries.incrementAndGet();
+        querying.countDown();
+        try {
+            assertThat(releaseQuery.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        return result;
+    }
+
+    private double count(String name, String outcome) {
+        return meterRegistry.get("single.flight.calls").tag("query", name).tag("outcome", outcome).counter().count();
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StudentImportServiceTest {
+
+    @Test
+    void splitsPlainFields() {
+        assertThat(StudentImportService.splitCsv("Ada,ada@x.edu,secret")).containsExactly("Ada", "ada@x.edu", "secret");
+    }
+
+    @Test
+    void keepsEmptyFields() {
+        assertThat(StudentImportService.splitCsv(",ada@x.edu,")).containsExactly("", "ada@x.edu", "");
+        assertThat(StudentImportService.splitCsv("")).containsExactly("");
+    }
+
+    @Test
+    void keepsCommasInsideQuotes() {
+        assertThat(StudentImportService.splitCsv("\"Lovelace, Ada\",ada@x.edu,\"a,b,c\""))
+                .containsExactly("Lovelace, Ada", "ada@x.edu", "a,b,c");
+    }
+
+    @Test
+    void unescapesDoubledQuotes() {
+        assertThat(StudentImportService.splitCsv("\"Ada \"\"The Countess\"\" Lovelace\",ada@x.edu"))
+                .containsExactly("Ada \"The Countess\" Lovelace", "ada@x.edu");
+    }
+
+    @Test
+    void keepsBcryptHashesIntact() {
+        String hash = "$2a$10$abcdefghijklmnopqrstuu5fVhHc4yzS9hVfs2Pj6jrcQ1c7M2O0a";
+        assertThat(StudentImportService.splitCsv("Ada,ada@x.edu," + hash)).containsExactly("Ada", "ada@x.edu", hash);
+    }
+
+    @Test
+    void rejectsUnbalancedQuotes() {
+        assertThat(StudentImportService.splitCsv("\"Ada,ada@x.edu,secret")).isNull();
+    }
+}
@@ -34,6 +34,15 @@ interface Student {
   status: "PENDING" | "APPROVED" | "REJECTED";
 }
 
+// Counts from /api/admin/summary for the stat cards
+interface AdminSummary {
+  students: Record<"PENDING" | "APPROVED" | "REJECTED", number>;
+  totalStudents: number;
+  prAdmins: number;
+  totalEvents: number;
+  totalAnnouncements: number;
+}
+
 interface MainAdminDashboardProps {
   user: { name: string; email: string; role?: string }
   onLogout: () => void
@@ -46,6 +55,7 @@ export function MainAdminDashboard({ user, onLogout }: MainAdminDashboardProps)
   const [prAdmins, setPrAdmins] = useState<PRAdmin[]>([]);
   const [pendingUsers, setPendingUsers] = useState<Student[]>([]);
   const [allUsers, setAllUsers] = useState<Student[]>([]);
+  const [summary, setSummary] = useState<AdminSummary | null>(null);
   
   // UI and form states
   const [newPRAdmin, setNewPRAdmin] = useState({ name: "", email: "", password: "" });
@@ -97,11 +107,22 @@ export function MainAdminDashboard({ user, onLogout }: MainAdminDashboardProps)
     }
   }, [toast]);
 
+  const fetchSummary = useCallback(async () => {
+    try {
+      const response = await fetch('https://campus-connect-1-mkae.onrender.com/api/admin/summary');
+      if (!response.ok) throw new Error('Failed to fetch summary');
+      setSummary(await response.json());
+    } catch (error) {
+      toast({ title: "Error", description: "Could not load dashboard counts.", variant: "destructive" });
+    }
+  }, [toast]);
+
   // Initial data fetch on component load
   useEffect(() => {
+    fetchSummary();
     fetchPrAdmins();
     fetchPendingUsers();
-  }, [fetchPrAdmins, fetchPendingUsers]);
+  }, [fetchSummary, fetchPrAdmins, fetchPendingUsers]);
 
   // --- API Action Handlers ---
   const handleAddPRAdmin = async () => {
@@ -123,6 +144,7 @@ export function MainAdminDashboard({ user, onLogout }: MainAdminDashboardProps)
       setNewPRAdmin({ name: "", email: "", password: "" });
       setIsAddingPRAdmin(false);
       await fetchPrAdmins(); // Refresh the list
+      fetchSummary();
     } catch (error: any) {
       toast({ title: "Error", description: error.message, variant: "destructive" });
     }
@@ -137,6 +159,7 @@ export function MainAdminDashboard({ user, onLogout }: MainAdminDashboardProps)
       toast({ title: "User Approved", description: `${userToProcess.name} has been approved.` });
       await fetchPendingUsers();
       if (hasFetchedAllUsers) await fetchAllUsers();
+      fetchSummary();
     } catch (error) {
       toast({ title: "Error", description: "Approval failed.", variant: "destructive" });
     }
@@ -150,6 +173,7 @@ export function MainAdminDashboard({ user, onLogout }: MainAdminDashboardProps)
       if (!response.ok) throw new Error("Rejection failed");
       toast({ title: "User Rejected", description: `${userToProcess.name} has been rejected.`, variant: "destructive" });
       await fetchPendingUsers();
+      fetchSummary();
     } catch (error) {
       toast({ title: "Error", description: "Rejection failed.", variant: "destructive" });
     }
@@ -190,6 +214,7 @@ export function MainAdminDashboard({ user, onLogout }: MainAdminDashboardProps)
 
       // Refresh the PR admin list to show the change
       await fetchPrAdmins();
+      fetchSummary();
 
     } catch (error: any) {
       toast({
@@ -209,12 +234,12 @@ export function MainAdminDashboard({ user, onLogout }: MainAdminDashboardProps)
   };
 
   const stats = {
-    totalPRAdmins: prAdmins.length,
-    activePRAdmins: prAdmins.length,
-    totalStudents: allUsers.length > 0 ? allUsers.length : 1247,
-    totalEvents: 23,
-    totalAnnouncements: 45,
-    pendingApprovals: pendingUsers.length,
+    totalPRAdmins: summary?.prAdmins ?? prAdmins.length,
+    activePRAdmins: summary?.prAdmins ?? prAdmins.length,
+    totalStudents: summary?.totalStudents ?? 0,
+    totalEvents: summary?.totalEvents ?? 0,
+    totalAnnouncements: summary?.totalAnnouncements ?? 0,
+    pendingApprovals: summary?.students.PENDING ?? pendingUsers.length,
   };
 
   return (
@@ -74,7 +74,12 @@ export function NotificationCenter() {
                     >
                       <div className="flex items-start justify-between gap-2">
                         <div className="flex-1">
-                          <h4 className="font-medium text-sm text-foreground">{notification.title}</h4>
+                          <h4 className="font-medium text-sm text-foreground">
+                            {notification.title}
+                            {(notification.count ?? 1) > 1 && (
+                              <span className="ml-1 text-xs text-muted-foreground">×{notification.count}</span>
+                            )}
+                          </h4>
                           <p className="text-xs text-muted-foreground mt-1">{notification.message}</p>
                           <div className="flex items-center gap-2 mt-2">
                             <Badge
@@ -150,8 +150,8 @@ export function StudentDashboard({ user, onLogout }: StudentDashboardProps) {
   setIsLoading(true); // Start loading
   try {
     const [eventsRes, announcementsRes] = await Promise.all([
-      fetch(`${API_BASE_URL}/events`), // Assuming this gets published events
-      fetch(`${API_BASE_URL}/announcements`), // Assuming this gets published announcements
+      fetch(`${API_BASE_URL}/events?viewer=${encodeURIComponent(user.email)}`), // Published events; registeredUsers only lists this user
+      fetch(`${API_BASE_URL}/announcements?role=${encodeURIComponent(user.role)}`), // Published announcements aimed at this user's audience
     ]);
     if (!eventsRes.ok || !announcementsRes.ok) {
       throw new Error("Failed to fetch data from the server.");
@@ -169,7 +169,7 @@ export function StudentDashboard({ user, onLogout }: StudentDashboardProps) {
   } finally {
       setIsLoading(false); // Stop loading, even if there's an error
   }
-}, [toast]); // Dependencies for useCallback
+}, [toast, user.role, user.email]); // Dependencies for useCallback
 
   // Fetch initial data on component mount
   useEffect(() => {
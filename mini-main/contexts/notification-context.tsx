@@ -11,6 +11,8 @@ interface Notification {
   priority: "low" | "medium" | "high"
   timestamp: Date
   isRead: boolean
+  // Repeats merged into this one by the server's notification digests; absent means 1
+  count?: number
 }
 
 interface NotificationState {